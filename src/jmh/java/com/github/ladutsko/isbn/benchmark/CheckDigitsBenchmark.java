@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.util.CheckDigits;
+
+/**
+ * Bulk check digits of packed ISBN-13 records against a scalar loop
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class CheckDigitsBenchmark {
+
+  private static final int COUNT = 4096;
+
+  private byte[] isbn13;
+  private byte[] isbn10;
+
+  @Setup
+  public void setUp() throws ISBNException {
+    StringBuilder sb13 = new StringBuilder();
+    StringBuilder sb10 = new StringBuilder();
+    for (int i = 0; i < COUNT; ++i) {
+      ISBN isbn = ISBN.parseIsbn(Inputs.VALID[i % Inputs.VALID.length]);
+      sb13.append(isbn.getIsbn13());
+      sb10.append(null == isbn.getIsbn10() ? "0123456789" : isbn.getIsbn10());
+    }
+    isbn13 = sb13.toString().getBytes(StandardCharsets.US_ASCII);
+    isbn10 = sb10.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public long[] validate13() {
+    return CheckDigits.validate13(isbn13, 0, COUNT);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public long[] validate13Scalar() {
+    long[] bitmap = new long[(COUNT + 63) >>> 6];
+    for (int i = 0, p = 0; i < COUNT; ++i, p += 13) {
+      int sum = 0;
+      boolean digits = true;
+      for (int k = 0; k < 13; ++k) {
+        int d = isbn13[p + k] - '0';
+        digits &= 0 <= d && 9 >= d;
+        sum += (0 == (k & 1) ? d : 3 * d);
+      }
+      if (digits && 0 == sum % 10)
+        bitmap[i >>> 6] |= 1L << i;
+    }
+    return bitmap;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public long[] validate10() {
+    return CheckDigits.validate10(isbn10, 0, COUNT);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNAggregator;
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.ISBNFormat;
+
+/**
+ * Counts by registrant with {@link ISBNAggregator} against formatting and splitting strings
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNAggregatorBenchmark {
+
+  private static final int COUNT = 10000;
+
+  private final ISBNFormat format = new ISBNFormat();
+  private long[] isbns;
+
+  @Setup
+  public void setUp() throws ISBNException {
+    Random random = new Random(43);
+    isbns = new long[COUNT];
+    for (int i = 0; i < COUNT; ++i)
+      isbns[i] = ISBN.parseIsbn(Inputs.VALID[random.nextInt(Inputs.VALID.length)]).toLong();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public ISBNAggregator aggregate() {
+    ISBNAggregator aggregator = new ISBNAggregator();
+    for (long isbn : isbns)
+      aggregator.add(isbn);
+    return aggregator;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public Map<String, Long> formatAndSplit() throws ISBNException {
+    Map<String, Long> counts = new HashMap<String, Long>();
+    for (long isbn : isbns) {
+      String[] parts = format.format(String.valueOf(isbn)).split("-");
+      counts.merge(parts[0] + '-' + parts[1] + '-' + parts[2], 1L, Long::sum);
+    }
+    return counts;
+  }
+}
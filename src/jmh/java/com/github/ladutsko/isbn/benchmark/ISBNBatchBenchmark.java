@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNBatch;
+
+/**
+ * Batch parse benchmark, score is a batch per time unit
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ISBNBatchBenchmark {
+
+  @Param({ "100000" })
+  private int size;
+
+  private List<String> inputs;
+  private ForkJoinPool sequential;
+
+  @Setup
+  public void setUp() {
+    inputs = new ArrayList<String>(size);
+    for (int i = 0; i < size; ++i)
+      inputs.add(Inputs.MIXED[i % Inputs.MIXED.length]);
+    sequential = new ForkJoinPool(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    sequential.shutdown();
+  }
+
+  @Benchmark
+  public void tryParseLoop(final Blackhole bh) {
+    for (String input : inputs)
+      bh.consume(ISBN.tryParse(input));
+  }
+
+  @Benchmark
+  public ISBNBatch parseAllSequential() {
+    return ISBN.parseAll(inputs, sequential);
+  }
+
+  @Benchmark
+  public ISBNBatch parseAllParallel() {
+    return ISBN.parseAll(inputs);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNCache;
+import com.github.ladutsko.isbn.ISBNException;
+
+/**
+ * ISBN benchmark
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNBenchmark {
+
+  private final String[] mixed = Inputs.MIXED.clone();
+  private final String[] withoutCheckDigit = Inputs.WITHOUT_CHECK_DIGIT.clone();
+  private final String[] valid = Inputs.VALID.clone();
+  private final ISBNCache cache = new ISBNCache(1024);
+  private final byte[][] mixedBytes = toBytes(Inputs.MIXED);
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void parseIsbn(final Blackhole bh) {
+    for (String input : mixed) {
+      try {
+        bh.consume(ISBN.parseIsbn(input));
+      } catch (ISBNException e) {
+        bh.consume(e);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void parseIsbnValid(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(ISBN.parseIsbn(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void cacheParseIsbnValid(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(cache.parseIsbn(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void tryParse(final Blackhole bh) {
+    for (String input : mixed)
+      bh.consume(ISBN.tryParse(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void isValid(final Blackhole bh) {
+    for (String input : mixed)
+      bh.consume(ISBN.isValid(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void isValidBytes(final Blackhole bh) {
+    for (byte[] input : mixedBytes)
+      bh.consume(ISBN.isValid(input, 0, input.length));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void isIsbn13(final Blackhole bh) {
+    for (String input : mixed)
+      bh.consume(ISBN.isIsbn13(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void isIsbn10(final Blackhole bh) {
+    for (String input : mixed)
+      bh.consume(ISBN.isIsbn10(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(20)
+  public void normalize(final Blackhole bh) {
+    for (String input : mixed)
+      bh.consume(ISBN.normalize(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(6)
+  public void calculateCheckDigit(final Blackhole bh) throws ISBNException {
+    for (String input : withoutCheckDigit)
+      bh.consume(ISBN.calculateCheckDigit(input));
+  }
+
+  private static byte[][] toBytes(final String[] inputs) {
+    byte[][] bytes = new byte[inputs.length][];
+    for (int i = 0; i < inputs.length; ++i)
+      bytes[i] = inputs[i].getBytes(StandardCharsets.UTF_8);
+    return bytes;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNCodec;
+import com.github.ladutsko.isbn.ISBNException;
+
+/**
+ * Java serialization of ISBN against the compact codec
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNCodecBenchmark {
+
+  private ISBN isbn;
+  private byte[] serialized;
+  private byte[] externalized;
+  private final ByteBuffer buffer = ByteBuffer.allocate(ISBNCodec.BYTES);
+
+  @Setup
+  public void setUp() throws ISBNException, IOException {
+    isbn = ISBN.parseIsbn(Inputs.VALID[0]);
+    serialized = serialize(isbn);
+    externalized = serialize(ISBNCodec.externalizable(isbn));
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return serialize(isbn);
+  }
+
+  @Benchmark
+  public byte[] serializeExternalized() throws IOException {
+    return serialize(ISBNCodec.externalizable(isbn));
+  }
+
+  @Benchmark
+  public Object deserialize() throws IOException, ClassNotFoundException {
+    return new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+  }
+
+  @Benchmark
+  public Object deserializeExternalized() throws IOException, ClassNotFoundException {
+    return new ObjectInputStream(new ByteArrayInputStream(externalized)).readObject();
+  }
+
+  @Benchmark
+  public ISBN codecRoundTrip() throws ISBNException {
+    buffer.clear();
+    ISBNCodec.write(isbn, buffer).flip();
+    return ISBNCodec.read(buffer);
+  }
+
+  private static byte[] serialize(final Object o) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+    ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(o);
+    oos.close();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBNFilter;
+
+/**
+ * Lookups in a Bloom filter of 1M ISBNs at 1%, half of them unknown
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ISBNFilterBenchmark {
+
+  private static final int SIZE = 1000000;
+  private static final int QUERIES = 4096;
+
+  private ISBNFilter filter;
+  private long[] queries;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(41);
+    filter = ISBNFilter.create(SIZE, 0.01);
+    long[] isbns = new long[SIZE];
+    for (int i = 0; i < SIZE; ++i) {
+      isbns[i] = isbn(random.nextInt(200000000));
+      filter.put(isbns[i]);
+    }
+
+    queries = new long[QUERIES];
+    for (int i = 0; i < QUERIES; ++i)
+      queries[i] = (0 == (i & 1) ? isbns[random.nextInt(SIZE)] : isbn(random.nextInt(200000000)));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(QUERIES)
+  public int mightContain() {
+    int found = 0;
+    for (long query : queries)
+      if (filter.mightContain(query))
+        ++found;
+    return found;
+  }
+
+  private static long isbn(final int code) {
+    long body = 978000000000L + code;
+    int sum = 0;
+    long digits = body;
+    for (int k = 11; k >= 0; --k, digits /= 10)
+      sum += ((k & 1) == 0 ? 1 : 3) * (int) (digits % 10);
+    return body * 10 + (10 - sum % 10) % 10;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.ISBNFormat;
+
+/**
+ * ISBN format benchmark
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNFormatBenchmark {
+
+  private final String[] valid = Inputs.VALID.clone();
+
+  private ISBNFormat format;
+  private ISBNFormat cachingFormat;
+  private final StringBuilder sb = new StringBuilder(64);
+  private final char[] chars = new char[64];
+  private final ISBN[] isbns = new ISBN[valid.length];
+
+  @Setup
+  public void setUp() throws ISBNException {
+    format = new ISBNFormat();
+    // Load range message outside of measurement
+    format.format(valid[0]);
+    cachingFormat = new ISBNFormat();
+    cachingFormat.setCacheSize(1024);
+    for (int i = 0; i < valid.length; ++i)
+      isbns[i] = ISBN.parseIsbn(valid[i]);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void format(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(format.format(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void formatWithSpace(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(format.format(input, ISBNFormat.SPACE_GROUP_SEPARATOR));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void formatCached(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(cachingFormat.format(input));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void formatToStringBuilder(final Blackhole bh) throws ISBNException {
+    for (String input : valid) {
+      sb.setLength(0);
+      bh.consume(format.formatTo(input, '-', sb));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void formatToCharArray(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(format.formatTo(input, '-', chars, 0));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void formatIsbn13(final Blackhole bh) {
+    for (ISBN isbn : isbns)
+      bh.consume(format.formatIsbn13(isbn));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void parts(final Blackhole bh) {
+    for (ISBN isbn : isbns)
+      bh.consume(format.parts(isbn).getRegistrantLength());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void parseThenFormat(final Blackhole bh) throws ISBNException {
+    for (String input : valid) {
+      ISBN isbn = ISBN.parseIsbn(input);
+      bh.consume(isbn.getIsbn13());
+      bh.consume(isbn.getIsbn10());
+      bh.consume(format.format(input));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(12)
+  public void parseAndFormat(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(format.parseAndFormat(input));
+  }
+}
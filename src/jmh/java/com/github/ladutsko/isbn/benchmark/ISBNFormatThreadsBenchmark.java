@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.ISBNFormat;
+
+/**
+ * ISBN format scalability benchmark, all threads share one formatter
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ISBNFormatThreadsBenchmark {
+
+  private final String[] valid = Inputs.VALID.clone();
+
+  private ISBNFormat format;
+
+  @Setup
+  public void setUp() throws ISBNException {
+    format = new ISBNFormat();
+    // Load range message outside of measurement
+    format.format(valid[0]);
+  }
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(12)
+  public void threads1(final Blackhole bh) throws ISBNException {
+    format(bh);
+  }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(12)
+  public void threads4(final Blackhole bh) throws ISBNException {
+    format(bh);
+  }
+
+  @Benchmark
+  @Threads(16)
+  @OperationsPerInvocation(12)
+  public void threads16(final Blackhole bh) throws ISBNException {
+    format(bh);
+  }
+
+  @Benchmark
+  @Threads(64)
+  @OperationsPerInvocation(12)
+  public void threads64(final Blackhole bh) throws ISBNException {
+    format(bh);
+  }
+
+  private void format(final Blackhole bh) throws ISBNException {
+    for (String input : valid)
+      bh.consume(format.format(input));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBNRepair;
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+
+/**
+ * Repair of inputs with a wrong check digit by {@link ISBNRepair} against
+ * trying every substitution and adjacent transposition
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNRepairBenchmark {
+
+  private static final int COUNT = 1000;
+  private static final char[] DIGITS = "0123456789X".toCharArray();
+
+  private final ISBNRepair repair = new ISBNRepair();
+  private final long[] candidates = new long[ISBNRepair.MAX_CANDIDATES];
+  private String[] inputs;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(43);
+    inputs = new String[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      char[] input = Inputs.VALID[random.nextInt(Inputs.VALID.length)].toCharArray();
+      int p;
+      do {
+        p = random.nextInt(input.length - 1);
+      } while (!Character.isDigit(input[p]));
+      input[p] = (char) ('0' + (input[p] - '0' + 1 + random.nextInt(9)) % 10);
+      inputs[i] = new String(input);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int repair() {
+    int count = 0;
+    for (String input : inputs)
+      count += repair.repair(input, candidates, 0);
+    return count;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int bruteForce() {
+    int count = 0;
+    for (String input : inputs) {
+      char[] chars = input.toCharArray();
+      for (int i = 0; i < chars.length; ++i) {
+        char c = chars[i];
+        for (char d : DIGITS) {
+          if (d != c && Character.isLetterOrDigit(c)) {
+            chars[i] = d;
+            count += valid(chars);
+          }
+        }
+        chars[i] = c;
+        if (i + 1 < chars.length && c != chars[i + 1]) {
+          chars[i] = chars[i + 1];
+          chars[i + 1] = c;
+          count += valid(chars);
+          chars[i + 1] = chars[i];
+          chars[i] = c;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static int valid(final char[] chars) {
+    return ISBNLexer.isValid(ISBNLexer.scan(new String(chars), true)) ? 1 : 0;
+  }
+}
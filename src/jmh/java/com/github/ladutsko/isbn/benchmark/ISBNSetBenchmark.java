@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.util.ISBNSet;
+
+/**
+ * Deduplication of ISBNs with {@link ISBNSet} against {@code HashSet<ISBN>}
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ISBNSetBenchmark {
+
+  private static final int COUNT = 100000;
+
+  private ISBN[] isbns;
+
+  @Setup
+  public void setUp() throws ISBNException {
+    isbns = new ISBN[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      // Every ISBN twice
+      long body = 978000000000L + i / 2 * 7919L;
+      int sum = 0;
+      long digits = body;
+      for (int k = 11; k >= 0; --k, digits /= 10)
+        sum += ((k & 1) == 0 ? 1 : 3) * (int) (digits % 10);
+      isbns[i] = ISBN.ofLong(body * 10 + (10 - sum % 10) % 10);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int isbnSet() {
+    ISBNSet set = new ISBNSet();
+    for (ISBN isbn : isbns)
+      set.add(isbn);
+    return set.size();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public int hashSet() {
+    Set<ISBN> set = new HashSet<ISBN>();
+    for (ISBN isbn : isbns)
+      set.add(isbn);
+    return set.size();
+  }
+}
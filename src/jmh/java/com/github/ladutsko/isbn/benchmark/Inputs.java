@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.benchmark;
+
+/**
+ * Benchmark inputs
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+final class Inputs {
+
+  /**
+   * Catalog-like mix: about two thirds valid in various notations, the rest invalid.
+   */
+  static final String[] MIXED = {
+    "9780321130020",
+    "978-0-321-15960-1",
+    "978 0 13 142542 2",
+    "0470747722",
+    "0-13-306684-3",
+    "1 4302 1995 5",
+    "111800759X",
+    "1-118-00759-x",
+    "9791090636071",
+    "979-10-90636-07-1",
+    "979 12 200 0852 5",
+    "978*0*201*73495*9",
+    "1-\n118-\n00759-\nX",
+    "9780123456780",
+    "0123456780",
+    "978-0-321-15960-2",
+    "qwertyuiop",
+    "12345",
+    "978--0-321-13002-0",
+    "97803211300201"
+  };
+
+  /**
+   * Valid input only, as passed to the formatter after parsing.
+   */
+  static final String[] VALID = {
+    "9780321130020",
+    "978-0-321-15960-1",
+    "978 0 13 142542 2",
+    "0470747722",
+    "0-13-306684-3",
+    "111800759X",
+    "9791090636071",
+    "979-10-90636-07-1",
+    "9789913600002",
+    "9789990330007",
+    "6115430097",
+    "9786131574375"
+  };
+
+  /**
+   * Input without check digit.
+   */
+  static final String[] WITHOUT_CHECK_DIGIT = {
+    "978032113002",
+    "978-0-321-15960",
+    "979 10 90636 07",
+    "047074772",
+    "0-13-306684",
+    "111800759"
+  };
+
+  private Inputs() {
+  }
+}
@@ -24,16 +24,28 @@
 package com.github.ladutsko.isbn;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+import com.github.ladutsko.isbn.util.CheckDigits;
+
 /**
  * ISBN
  *
@@ -43,45 +55,91 @@ public class ISBN implements Serializable {
 
   private static final long serialVersionUID = 174660743699030960L;
 
+  /**
+   * Serialized form is kept as it was when ISBN held the ISBN-13 string
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("isbn13", String.class)
+  };
+
   private static final Logger LOGGER = LoggerFactory.getLogger(ISBN.class);
 
   public static final Pattern PATTERN = Pattern.compile("\\b(?:(97[89](?:\\s*[^\\s\\dXx]?\\s*\\d){10})|((?:\\d\\s*[^\\s\\dXx]?\\s*){9}[\\dXx]))\\b");
 
-  private static final Pattern PATTERN_WITHOUT_CHECK_DIGIT = Pattern.compile("\\b(?:(97[89](?:\\s*[^\\s\\dXx]?\\s*\\d){9,10})|((?:\\d\\s*[^\\s\\dXx]?\\s*){9}[\\dXx]?))\\b");
-
   private static final Pattern GROUP_SEPARATOR_PATTERN = Pattern.compile("[^\\dXx]+");
 
   private static final String URI_PREFIX = "urn:isbn:";
 
   static final String DEFAULT_PREFIX = "978";
 
-  private final String isbn13;
-  private transient String isbn10;
+  static final long MIN_VALUE = 9780000000000L;
+  static final long MAX_VALUE = 9799999999999L;
+  static final long DEFAULT_PREFIX_VALUE = 978L;
+
+  private static final long TEN_POW_9 = 1000000000L;
+  private static final long TEN_POW_10 = 10000000000L;
 
-  ISBN(final String isbn13, final String isbn10) {
-    this.isbn13 = isbn13;
-    this.isbn10 = isbn10;
+  /**
+   * All 13 digits of ISBN-13
+   */
+  private long value;
+
+  ISBN(final long value) {
+    this.value = value;
   }
 
   /**
+   * Create ISBN from the number returned by {@link #toLong()}
+   *
+   * @param value ISBN-13 as a number
+   * @return ISBN
+   * @throws ISBNException if value is not valid ISBN-13
+   */
+  public static ISBN ofLong(final long value) throws ISBNException {
+    if (!isValidValue(value))
+      throw new ISBNException("Not valid ISBN-13: " + value);
+
+    return new ISBN(value);
+  }
+
+  /**
+   * @return ISBN-13 as a number
+   */
+  public long toLong() {
+    return value;
+  }
+
+  /**
+   * Returns a new string on each call, nothing is cached
+   *
    * @return normalized ISBN-13 string
    */
   public String getIsbn13() {
-    return isbn13;
+    return String.valueOf(value);
   }
 
   /**
-   * @return normalized ISBN-10 string
+   * Returns a new string on each call, nothing is cached
+   *
+   * @return normalized ISBN-10 string or null if ISBN-13 has not 978 prefix
    */
   public String getIsbn10() {
-    return isbn10;
+    if (DEFAULT_PREFIX_VALUE != value / TEN_POW_10)
+      return null;
+
+    char[] chars = new char[10];
+    long digits = value / 10 % TEN_POW_9;
+    for (int i = 8; i >= 0; --i, digits /= 10)
+      chars[i] = (char) ('0' + digits % 10);
+    chars[9] = ISBNLexer.toChar(CheckDigits.checkDigit10(value / 10));
+    return new String(chars);
   }
 
   /**
    * @return urn
    */
   public URI toURI() {
-    return URI.create(URI_PREFIX + isbn13);
+    return URI.create(URI_PREFIX + value);
   }
 
   /**
@@ -91,7 +149,8 @@ public class ISBN implements Serializable {
    */
   @Override
   public String toString() {
-    return String.format("%s[isbn13=%s,isbn10=%s]", getClass().getName(), isbn13, (null == isbn10 ? "nonexistent" : isbn10));
+    String isbn10 = getIsbn10();
+    return String.format("%s[isbn13=%s,isbn10=%s]", getClass().getName(), value, (null == isbn10 ? "nonexistent" : isbn10));
   }
 
   /**
@@ -101,7 +160,7 @@ public class ISBN implements Serializable {
    */
   @Override
   public int hashCode() {
-    return isbn13.hashCode();
+    return Long.hashCode(value);
   }
 
   /**
@@ -122,7 +181,7 @@ public class ISBN implements Serializable {
       return false;
 
     final ISBN other = (ISBN) obj;
-    return isbn13.equals(other.isbn13);
+    return value == other.value;
   }
 
   /**
@@ -138,30 +197,167 @@ public class ISBN implements Serializable {
     if (null == input || 0 == input.length())
       throw new IllegalArgumentException("isbn = " + input);
 
-    Matcher m = matcher(input, PATTERN);
-    LOGGER.debug("Matcher: {}", m);
-
-    assert 2 == m.groupCount() : "Unexpected groups count: " + m.groupCount();
-
-    if (null != m.group(1)) {
-      String isbn13 = normalize(m.group());
-      char checkDigit = calculateCheckDigit13(isbn13);
-      if (checkDigit != isbn13.charAt(12))
-        throw new ISBNException("Suspect check digit " + checkDigit + ": " + input);
-
-      ISBN isbn = new ISBN(isbn13, toIsbn10(isbn13));
-      LOGGER.debug("Return: {}", isbn);
-      return isbn;
-    } else {
-      String isbn10 = normalize(m.group()).toUpperCase();
-      char checkDigit = calculateCheckDigit10(isbn10);
-      if (checkDigit != isbn10.charAt(9))
-        throw new ISBNException("Suspect check digit " + checkDigit + ": " + input);
-
-      ISBN isbn = new ISBN(toIsbn13(isbn10), isbn10);
-      LOGGER.debug("Return: {}", isbn);
-      return isbn;
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    if (!ISBNLexer.isValid(token))
+      throw parseException(token, input);
+
+    ISBN isbn = new ISBN(ISBNLexer.isbn13(token));
+    LOGGER.debug("Return: {}", isbn);
+    return isbn;
+  }
+
+  /**
+   * Parse ISBN from UTF-8 or ASCII bytes
+   *
+   * @param input bytes which contain ISBN
+   * @param offset index of the first byte
+   * @param length number of bytes
+   * @return ISBN
+   * @throws ISBNException if something is wrong
+   */
+  public static ISBN parseIsbn(final byte[] input, final int offset, final int length) throws ISBNException {
+    if (null == input || 0 == length)
+      throw new IllegalArgumentException("isbn = " + input);
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    if (!ISBNLexer.isValid(token))
+      throw parseException(token, new String(input, offset, length, StandardCharsets.UTF_8));
+
+    return new ISBN(ISBNLexer.isbn13(token));
+  }
+
+  /**
+   * Parse ISBN from UTF-8 or ASCII bytes of the buffer, the position and limit are ignored
+   *
+   * @param input heap or direct buffer which contains ISBN
+   * @param offset absolute index of the first byte
+   * @param length number of bytes
+   * @return ISBN
+   * @throws ISBNException if something is wrong
+   */
+  public static ISBN parseIsbn(final ByteBuffer input, final int offset, final int length) throws ISBNException {
+    if (null == input || 0 == length)
+      throw new IllegalArgumentException("isbn = " + input);
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    if (!ISBNLexer.isValid(token)) {
+      ByteBuffer bytes = input.duplicate();
+      bytes.limit(offset + length).position(offset);
+      throw parseException(token, StandardCharsets.UTF_8.decode(bytes));
     }
+
+    return new ISBN(ISBNLexer.isbn13(token));
+  }
+
+  /**
+   * Parse ISBN without throwing exceptions
+   *
+   * @param input character sequence which contains ISBN
+   * @return parse result, never null
+   */
+  public static ISBNParseResult tryParse(final CharSequence input) {
+    if (null == input)
+      return ISBNParseResult.MALFORMED;
+
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    return ISBNParseResult.of(token);
+  }
+
+  /**
+   * Parse ISBN from UTF-8 or ASCII bytes without throwing exceptions
+   *
+   * @param input bytes which contain ISBN
+   * @param offset index of the first byte
+   * @param length number of bytes
+   * @return parse result, never null
+   */
+  public static ISBNParseResult tryParse(final byte[] input, final int offset, final int length) {
+    if (null == input)
+      return ISBNParseResult.MALFORMED;
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    return ISBNParseResult.of(token);
+  }
+
+  /**
+   * Parse ISBN from UTF-8 or ASCII bytes of the buffer without throwing exceptions,
+   * the position and limit are ignored
+   *
+   * @param input heap or direct buffer which contains ISBN
+   * @param offset absolute index of the first byte
+   * @param length number of bytes
+   * @return parse result, never null
+   */
+  public static ISBNParseResult tryParse(final ByteBuffer input, final int offset, final int length) {
+    if (null == input)
+      return ISBNParseResult.MALFORMED;
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    return ISBNParseResult.of(token);
+  }
+
+  /**
+   * Parse a batch of ISBNs in the common fork join pool
+   *
+   * @param inputs character sequences which contain ISBN, null elements are malformed
+   * @return parse results in input order
+   */
+  public static ISBNBatch parseAll(final List<? extends CharSequence> inputs) {
+    return parseAll(inputs, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parse a batch of ISBNs. Large batches are split across the pool,
+   * use a pool with parallelism 1 to parse in the calling thread.
+   *
+   * @param inputs character sequences which contain ISBN, null elements are malformed
+   * @param pool fork join pool
+   * @return parse results in input order
+   */
+  public static ISBNBatch parseAll(final List<? extends CharSequence> inputs, final ForkJoinPool pool) {
+    if (null == inputs || null == pool)
+      throw new IllegalArgumentException("inputs = " + inputs + ", pool = " + pool);
+
+    return ISBNBatch.parse(inputs, pool);
+  }
+
+  /**
+   * Parse a batch of ISBNs in the common fork join pool
+   *
+   * @param inputs character sequences which contain ISBN, null elements are malformed
+   * @return parse results in input order
+   */
+  public static ISBNBatch parseAll(final CharSequence... inputs) {
+    if (null == inputs)
+      throw new IllegalArgumentException("inputs = null");
+
+    return parseAll(Arrays.asList(inputs));
+  }
+
+  /**
+   * Parse ISBNs lazily, the stream keeps its order and parallelism
+   *
+   * @param inputs character sequences which contain ISBN
+   * @return parse results
+   */
+  public static Stream<ISBNParseResult> tryParseAll(final Stream<? extends CharSequence> inputs) {
+    return inputs.map(ISBN::tryParse);
   }
 
   /**
@@ -191,6 +387,53 @@ public class ISBN implements Serializable {
     return GROUP_SEPARATOR_PATTERN.matcher(input).replaceAll("");
   }
 
+  /**
+   * Normalize ISBN from UTF-8 or ASCII bytes, the same as {@link #normalize(CharSequence)}
+   * of the decoded input
+   *
+   * @param input bytes which contain ISBN
+   * @param offset index of the first byte
+   * @param length number of bytes
+   * @return normalize ISBN string or null if input is null
+   */
+  public static String normalize(final byte[] input, final int offset, final int length) {
+    if (null == input)
+      return null;
+
+    checkRange(input, offset, length);
+    char[] chars = new char[length];
+    int count = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      byte b = input[i];
+      if (('0' <= b && '9' >= b) || 'X' == b || 'x' == b)
+        chars[count++] = (char) b;
+    }
+    return new String(chars, 0, count);
+  }
+
+  /**
+   * Normalize ISBN from UTF-8 or ASCII bytes of the buffer, the position and limit are ignored
+   *
+   * @param input heap or direct buffer which contains ISBN
+   * @param offset absolute index of the first byte
+   * @param length number of bytes
+   * @return normalize ISBN string or null if input is null
+   */
+  public static String normalize(final ByteBuffer input, final int offset, final int length) {
+    if (null == input)
+      return null;
+
+    checkRange(input, offset, length);
+    char[] chars = new char[length];
+    int count = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      byte b = input.get(i);
+      if (('0' <= b && '9' >= b) || 'X' == b || 'x' == b)
+        chars[count++] = (char) b;
+    }
+    return new String(chars, 0, count);
+  }
+
   /**
    * Calculate ISBN check digit
    *
@@ -202,16 +445,11 @@ public class ISBN implements Serializable {
     if (null == input)
       return null;
 
-    Matcher m = matcher(input, PATTERN_WITHOUT_CHECK_DIGIT);
-    LOGGER.debug("Matcher: {}", m);
-
-    assert 2 == m.groupCount() : "Unexpected groups count: " + m.groupCount();
+    long token = ISBNLexer.scan(input, false);
+    if (ISBNLexer.MALFORMED == token)
+      throw new ISBNException("ISBN is not well-formed: " + input);
 
-    if (null != m.group(1)) {
-      return String.valueOf(calculateCheckDigit13(normalize(m.group())));
-    } else {
-      return String.valueOf(calculateCheckDigit10(normalize(m.group())));
-    }
+    return String.valueOf(ISBNLexer.toChar(ISBNLexer.checkDigit(token)));
   }
 
   /**
@@ -221,15 +459,51 @@ public class ISBN implements Serializable {
    * @return true if input contains valid ISBN
    */
   public static boolean isValid(final CharSequence input) {
-    try {
-      String checkDigit = calculateCheckDigit(input);
-      if (null == checkDigit)
-        return false;
+    if (null == input)
+      return false;
+
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    return ISBNLexer.isValid(token);
+  }
 
-      return (checkDigit.charAt(0) == Character.toUpperCase(input.charAt(input.length()-1)));
-    } catch (Exception e) {
+  /**
+   * Validate ISBN from UTF-8 or ASCII bytes
+   *
+   * @param input bytes which contain ISBN
+   * @param offset index of the first byte
+   * @param length number of bytes
+   * @return true if input contains valid ISBN
+   */
+  public static boolean isValid(final byte[] input, final int offset, final int length) {
+    if (null == input)
       return false;
-    }
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    return ISBNLexer.isValid(token);
+  }
+
+  /**
+   * Validate ISBN from UTF-8 or ASCII bytes of the buffer, the position and limit are ignored
+   *
+   * @param input heap or direct buffer which contains ISBN
+   * @param offset absolute index of the first byte
+   * @param length number of bytes
+   * @return true if input contains valid ISBN
+   */
+  public static boolean isValid(final ByteBuffer input, final int offset, final int length) {
+    if (null == input)
+      return false;
+
+    checkRange(input, offset, length);
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, offset, offset + length, true);
+    Metrics.parsed(token, start);
+    return ISBNLexer.isValid(token);
   }
 
   /**
@@ -242,11 +516,10 @@ public class ISBN implements Serializable {
     if (null == input)
       return false;
 
-    try {
-      return null != matcher(input, PATTERN).group(1);
-    } catch (Exception e) {
-      return false;
-    }
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    return ISBNLexer.MALFORMED != token && ISBNLexer.isIsbn13(token);
   }
 
   /**
@@ -259,11 +532,27 @@ public class ISBN implements Serializable {
     if (null == input)
       return false;
 
-    try {
-      return null != matcher(input, PATTERN).group(2);
-    } catch (Exception e) {
-      return false;
-    }
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    return ISBNLexer.MALFORMED != token && !ISBNLexer.isIsbn13(token);
+  }
+
+  static ISBNException parseException(final long token, final CharSequence input) {
+    if (ISBNLexer.MALFORMED == token)
+      return new ISBNException("ISBN is not well-formed: " + input);
+
+    return new ISBNException("Suspect check digit " + ISBNLexer.toChar(ISBNLexer.checkDigit(token)) + ": " + input);
+  }
+
+  private static void checkRange(final byte[] input, final int offset, final int length) {
+    if (0 > offset || 0 > length || input.length - offset < length)
+      throw new IndexOutOfBoundsException("offset = " + offset + ", length = " + length + ", array length = " + input.length);
+  }
+
+  private static void checkRange(final ByteBuffer input, final int offset, final int length) {
+    if (0 > offset || 0 > length || input.capacity() - offset < length)
+      throw new IndexOutOfBoundsException("offset = " + offset + ", length = " + length + ", capacity = " + input.capacity());
   }
 
   protected static Matcher matcher(final CharSequence input, final Pattern pattern) throws ISBNException {
@@ -274,46 +563,86 @@ public class ISBN implements Serializable {
     return m;
   }
 
+  /**
+   * @param input at least 12 digits
+   * @return ISBN-13 check digit of the first 12 digits
+   * @deprecated use {@link CheckDigits#checkDigit13(long)}
+   */
+  @Deprecated
   protected static char calculateCheckDigit13(final CharSequence input) {
-    int sum = 0;
-    for (int i = 0; i < 12; i++)
-      sum += ((i & 1) == 0 ? 1 : 3) * (input.charAt(i) - '0');
-    return (char)((10 - sum % 10) % 10 + '0');
+    return ISBNLexer.toChar(CheckDigits.checkDigit13(digits(input, 12)));
   }
 
+  /**
+   * @param input at least 9 digits
+   * @return ISBN-10 check digit of the first 9 digits
+   * @deprecated use {@link CheckDigits#checkDigit10(long)}
+   */
+  @Deprecated
   protected static char calculateCheckDigit10(final CharSequence input) {
-    int sum = 0;
-    for (int i = 0; i < 9; i++)
-      sum += (i + 1) * (input.charAt(i) - '0');
-    int checkDigit = sum % 11;
-    return (10 == checkDigit ? 'X' : (char) (checkDigit + '0'));
+    return ISBNLexer.toChar(CheckDigits.checkDigit10(digits(input, 9)));
   }
 
+  /**
+   * @param input ISBN-13 digits
+   * @return ISBN-10 digits or null if the prefix is not 978
+   * @deprecated use {@link #getIsbn10()}
+   */
+  @Deprecated
   protected static String toIsbn10(final String input) {
     if (input.startsWith(DEFAULT_PREFIX)) {
       StringBuilder sb = new StringBuilder(10);
       sb.append(input, 3, 12);
-      sb.append(calculateCheckDigit10(sb));
+      sb.append(ISBNLexer.toChar(CheckDigits.checkDigit10(digits(sb, 9))));
       return sb.toString();
     }
 
     return null;
   }
 
+  /**
+   * @param input ISBN-10 digits
+   * @return ISBN-13 digits
+   * @deprecated use {@link #getIsbn13()}
+   */
+  @Deprecated
   protected static String toIsbn13(final String input) {
     StringBuilder sb = new StringBuilder(13);
     sb.append(DEFAULT_PREFIX).append(input, 0, 9);
-    sb.append(calculateCheckDigit13(sb));
+    sb.append(ISBNLexer.toChar(CheckDigits.checkDigit13(digits(sb, 12))));
     return sb.toString();
   }
 
+  private static long digits(final CharSequence input, final int length) {
+    long value = 0;
+    for (int i = 0; i < length; i++)
+      value = value * 10 + (input.charAt(i) - '0');
+    return value;
+  }
+
+  static boolean isValidValue(final long value) {
+    if (MIN_VALUE > value || MAX_VALUE < value)
+      return false;
+
+    return CheckDigits.checkDigit13(value / 10) == value % 10;
+  }
+
   private void writeObject(final ObjectOutputStream out) throws IOException {
-    out.defaultWriteObject();
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("isbn13", getIsbn13());
+    out.writeFields();
   }
 
   private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
-    in.defaultReadObject();
+    ObjectInputStream.GetField fields = in.readFields();
+    String isbn13 = (String) fields.get("isbn13", null);
+    try {
+      value = Long.parseLong(isbn13);
+    } catch (NumberFormatException e) {
+      throw new InvalidObjectException("Not valid ISBN-13: " + isbn13);
+    }
 
-    isbn10 = toIsbn10(isbn13);
+    if (!isValidValue(value))
+      throw new InvalidObjectException("Not valid ISBN-13: " + isbn13);
   }
 }
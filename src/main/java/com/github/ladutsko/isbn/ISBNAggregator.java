@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import com.github.ladutsko.isbn.impl.RangeTable;
+import com.github.ladutsko.isbn.util.ISBNLongMap;
+
+/**
+ * Counts ISBNs by registration group and registrant. Counters are primitive:
+ * an array indexed by group and a map keyed by the packed registrant prefix,
+ * no strings are built until the results are read.
+ *
+ * <p>Not thread safe. For parallel aggregation give each thread its own
+ * aggregator and {@link #merge(ISBNAggregator)} them, or use {@link #collector()}.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNAggregator {
+
+  /**
+   * Receiver of group counts
+   */
+  @FunctionalInterface
+  public interface GroupConsumer {
+
+    /**
+     * @param prefix group prefix, e.g. {@code 978-0}
+     * @param agency group agency, e.g. {@code English language}
+     * @param count number of ISBNs
+     */
+    void accept(String prefix, String agency, long count);
+  }
+
+  /**
+   * Receiver of registrant counts
+   */
+  @FunctionalInterface
+  public interface RegistrantConsumer {
+
+    /**
+     * @param prefix group prefix, e.g. {@code 978-0}
+     * @param registrant registrant, e.g. {@code 321}
+     * @param count number of ISBNs
+     */
+    void accept(String prefix, String registrant, long count);
+  }
+
+  private static final long[] POW10 = new long[13];
+
+  static {
+    POW10[0] = 1;
+    for (int i = 1; i < POW10.length; ++i)
+      POW10[i] = POW10[i - 1] * 10;
+  }
+
+  private final RangeTable rangeTable;
+  private final long[] groups;
+  /**
+   * Packed registrant prefix to count. The keys are not ISBNs, which is fine:
+   * ISBNLongMap rejects only 0 and hashes all 64 bits of the key
+   */
+  private final ISBNLongMap registrants = new ISBNLongMap();
+  private long count;
+  private long unknownCount;
+
+  /**
+   * Aggregator over the current range table
+   */
+  public ISBNAggregator() {
+    this(ISBNFormat.getRangeTable());
+  }
+
+  private ISBNAggregator(final RangeTable rangeTable) {
+    this.rangeTable = rangeTable;
+    this.groups = new long[rangeTable.getGroupCount()];
+  }
+
+  /**
+   * @param isbns ISBNs, a parallel stream is aggregated in parallel
+   * @return counts
+   */
+  public static ISBNAggregator aggregate(final Stream<ISBN> isbns) {
+    return isbns.collect(collector());
+  }
+
+  /**
+   * @param isbns ISBNs
+   * @return counts
+   */
+  public static ISBNAggregator aggregate(final Iterator<ISBN> isbns) {
+    ISBNAggregator aggregator = new ISBNAggregator();
+    while (isbns.hasNext())
+      aggregator.add(isbns.next());
+    return aggregator;
+  }
+
+  /**
+   * All partial aggregators of one collection use the same range table
+   *
+   * @return collector which aggregates ISBNs
+   */
+  public static Collector<ISBN, ?, ISBNAggregator> collector() {
+    RangeTable rangeTable = ISBNFormat.getRangeTable();
+    return Collector.of(() -> new ISBNAggregator(rangeTable), ISBNAggregator::add, ISBNAggregator::merge,
+        Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * @param isbn ISBN
+   */
+  public void add(final ISBN isbn) {
+    long body = isbn.toLong() / 10;
+    add(body, rangeTable.lookup(body));
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @throws IllegalArgumentException if the number is not valid ISBN-13
+   */
+  public void add(final long isbn) {
+    if (!ISBN.isValidValue(isbn))
+      throw new IllegalArgumentException("Not valid ISBN-13: " + isbn);
+
+    long body = isbn / 10;
+    add(body, rangeTable.lookup(body));
+  }
+
+  /**
+   * Add counts of the other aggregator
+   *
+   * @param other aggregator over the same range table
+   * @return this
+   * @throws IllegalArgumentException if the range table was reloaded between creation of the aggregators
+   */
+  public ISBNAggregator merge(final ISBNAggregator other) {
+    if (rangeTable != other.rangeTable)
+      throw new IllegalArgumentException("Aggregators use different range tables");
+
+    for (int g = 0; g < groups.length; ++g)
+      groups[g] += other.groups[g];
+    registrants.addAll(other.registrants);
+    count += other.count;
+    unknownCount += other.unknownCount;
+    return this;
+  }
+
+  /**
+   * @return number of ISBNs
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return number of ISBNs of unknown registration groups
+   */
+  public long getUnknownCount() {
+    return unknownCount;
+  }
+
+  /**
+   * @param action called with each group which has ISBNs in range message order
+   */
+  public void forEachGroup(final GroupConsumer action) {
+    for (int g = 0; g < groups.length; ++g)
+      if (0 != groups[g])
+        action.accept(rangeTable.getPrefix(g), rangeTable.getAgency(g), groups[g]);
+  }
+
+  /**
+   * ISBNs of groups without assigned ranges are counted only by group
+   *
+   * @param action called with each registrant which has ISBNs in no particular order
+   */
+  public void forEachRegistrant(final RegistrantConsumer action) {
+    registrants.forEach((key, value) -> {
+      int groupLength = (int) (key >>> 4) & 0xF;
+      int registrantLength = (int) key & 0xF;
+      long digits = key >>> 8;
+      // EAN prefix, group and registrant digits from the highest
+      long group = digits / POW10[registrantLength];
+      String prefix = digits(group / POW10[groupLength], 3) + '-' + digits(group % POW10[groupLength], groupLength);
+      action.accept(prefix, digits(digits % POW10[registrantLength], registrantLength), value);
+    });
+  }
+
+  /**
+   * @return counts by group prefix, e.g. {@code 978-0}, in range message order
+   */
+  public Map<String, Long> getGroupCounts() {
+    Map<String, Long> counts = new LinkedHashMap<String, Long>();
+    forEachGroup((prefix, agency, value) -> counts.put(prefix, value));
+    return counts;
+  }
+
+  /**
+   * @return counts by registrant prefix, e.g. {@code 978-0-321}, in lexicographic order
+   */
+  public Map<String, Long> getRegistrantCounts() {
+    Map<String, Long> counts = new TreeMap<String, Long>();
+    forEachRegistrant((prefix, registrant, value) -> counts.put(prefix + '-' + registrant, value));
+    return counts;
+  }
+
+  private void add(final long body, final int layout) {
+    ++count;
+    if (RangeTable.NOT_FOUND == layout) {
+      ++unknownCount;
+      return;
+    }
+
+    ++groups[RangeTable.group(layout)];
+    int groupLength = RangeTable.groupLength(layout);
+    int registrantLength = RangeTable.registrantLength(layout);
+    if (0 != registrantLength) {
+      // Digits of EAN prefix, group and registrant with their lengths
+      long prefix = body / POW10[9 - groupLength - registrantLength];
+      registrants.addTo(prefix << 8 | groupLength << 4 | registrantLength, 1L);
+    }
+  }
+
+  private static String digits(final long value, final int length) {
+    char[] chars = new char[length];
+    long digits = value;
+    for (int i = length - 1; i >= 0; --i, digits /= 10)
+      chars[i] = (char) ('0' + digits % 10);
+    return new String(chars);
+  }
+}
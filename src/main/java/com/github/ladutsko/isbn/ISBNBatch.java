@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+
+/**
+ * Parse results of a batch of inputs. Each result is kept as a single
+ * {@code long}, objects are created only on access.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNBatch {
+
+  /**
+   * Inputs per fork join task
+   */
+  static final int SPLIT_THRESHOLD = 4096;
+
+  private final long[] tokens;
+
+  private ISBNBatch(final long[] tokens) {
+    this.tokens = tokens;
+  }
+
+  /**
+   * @return number of inputs
+   */
+  public int size() {
+    return tokens.length;
+  }
+
+  /**
+   * @param index input index
+   * @return parse status of the input
+   */
+  public ISBNParseResult.Status getStatus(final int index) {
+    return ISBNLexer.status(tokens[index]);
+  }
+
+  /**
+   * @param index input index
+   * @return true if the input is valid ISBN
+   */
+  public boolean isValid(final int index) {
+    return ISBNLexer.isValid(tokens[index]);
+  }
+
+  /**
+   * @param index input index
+   * @return ISBN-13 as a number, see {@link ISBN#toLong()}, or 0 if the input is not valid
+   */
+  public long toLong(final int index) {
+    long token = tokens[index];
+    return ISBNLexer.isValid(token) ? ISBNLexer.isbn13(token) : 0L;
+  }
+
+  /**
+   * @param index input index
+   * @return ISBN or null if the input is not valid
+   */
+  public ISBN getIsbn(final int index) {
+    long token = tokens[index];
+    return ISBNLexer.isValid(token) ? new ISBN(ISBNLexer.isbn13(token)) : null;
+  }
+
+  /**
+   * @param index input index
+   * @return parse result, the same as {@link ISBN#tryParse(CharSequence)} returns
+   */
+  public ISBNParseResult get(final int index) {
+    return ISBNParseResult.of(tokens[index]);
+  }
+
+  /**
+   * @return number of valid inputs
+   */
+  public int getValidCount() {
+    int count = 0;
+    for (long token : tokens) {
+      if (ISBNLexer.isValid(token))
+        ++count;
+    }
+    return count;
+  }
+
+  /**
+   * @return results in input order
+   */
+  public Stream<ISBNParseResult> stream() {
+    return IntStream.range(0, tokens.length).mapToObj(this::get);
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d,valid=%d]", getClass().getName(), size(), getValidCount());
+  }
+
+  static ISBNBatch parse(final List<? extends CharSequence> inputs, final ForkJoinPool pool) {
+    List<? extends CharSequence> list = (inputs instanceof RandomAccess ? inputs : new ArrayList<CharSequence>(inputs));
+    long[] tokens = new long[list.size()];
+
+    if (SPLIT_THRESHOLD >= tokens.length || 1 == pool.getParallelism())
+      scan(list, tokens, 0, tokens.length);
+    else
+      pool.invoke(new ScanTask(list, tokens, 0, tokens.length));
+
+    return new ISBNBatch(tokens);
+  }
+
+  private static void scan(final List<? extends CharSequence> inputs, final long[] tokens, final int from, final int to) {
+    for (int i = from; i < to; ++i) {
+      CharSequence input = inputs.get(i);
+      if (null == input) {
+        tokens[i] = ISBNLexer.MALFORMED;
+        continue;
+      }
+
+      long start = Metrics.start();
+      tokens[i] = ISBNLexer.scan(input, true);
+      Metrics.parsed(tokens[i], start);
+    }
+  }
+
+  /**
+   * Each task writes its own range of the shared token array
+   */
+  private static final class ScanTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends CharSequence> inputs;
+    private final long[] tokens;
+    private final int from;
+    private final int to;
+
+    ScanTask(final List<? extends CharSequence> inputs, final long[] tokens, final int from, final int to) {
+      this.inputs = inputs;
+      this.tokens = tokens;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (SPLIT_THRESHOLD >= to - from) {
+        scan(inputs, tokens, from, to);
+        return;
+      }
+
+      int mid = (from + to) >>> 1;
+      invokeAll(new ScanTask(inputs, tokens, from, mid), new ScanTask(inputs, tokens, mid, to));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+
+/**
+ * Bounded cache of canonical {@link ISBN} instances keyed on ISBN-13 value.
+ * Repeated input is parsed without allocation and yields a shared instance.
+ *
+ * <p>The cache is 2-way set associative: each value has two slots, the most
+ * recently inserted or hit entry takes the first one and the other entry is
+ * evicted on insert. Lookups and inserts are lock-free, racing updates may
+ * drop an entry or create a duplicate instance, but never a wrong one.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNCache {
+
+  private final TwoWaySlots<ISBN> slots;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param capacity maximum number of entries, rounded up to a power of two
+   */
+  public ISBNCache(final int capacity) {
+    if (TwoWaySlots.WAYS > capacity || 1 << 30 < capacity)
+      throw new IllegalArgumentException("capacity = " + capacity);
+
+    this.slots = new TwoWaySlots<ISBN>(capacity);
+  }
+
+  /**
+   * Parse ISBN, see {@link ISBN#parseIsbn(CharSequence)}
+   *
+   * @param input character sequence which contains ISBN
+   * @return shared ISBN
+   * @throws ISBNException if something is wrong
+   */
+  public ISBN parseIsbn(final CharSequence input) throws ISBNException {
+    if (null == input || 0 == input.length())
+      throw new IllegalArgumentException("isbn = " + input);
+
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    if (!ISBNLexer.isValid(token))
+      throw ISBN.parseException(token, input);
+
+    return valueOf(ISBNLexer.isbn13(token));
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return shared ISBN equal to the given one
+   */
+  public ISBN intern(final ISBN isbn) {
+    if (null == isbn)
+      return null;
+
+    ISBN cached = get(isbn.toLong());
+    if (null != cached)
+      return cached;
+
+    put(isbn);
+    return isbn;
+  }
+
+  /**
+   * @return number of lookups which found a shared instance
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return number of lookups which created or inserted an instance
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return hit count divided by lookup count, 0 if there were no lookups
+   */
+  public double getHitRate() {
+    long hitCount = getHitCount();
+    long lookupCount = hitCount + getMissCount();
+    return (0 == lookupCount ? 0.0 : (double) hitCount / lookupCount);
+  }
+
+  /**
+   * @return maximum number of entries
+   */
+  public int getCapacity() {
+    return slots.capacity();
+  }
+
+  /**
+   * Remove all entries and reset statistics
+   */
+  public void clear() {
+    slots.clear();
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s[capacity=%d,hits=%d,misses=%d]", getClass().getName(), getCapacity(), getHitCount(), getMissCount());
+  }
+
+  private ISBN valueOf(final long value) {
+    ISBN cached = get(value);
+    if (null != cached)
+      return cached;
+
+    ISBN isbn = new ISBN(value);
+    put(isbn);
+    return isbn;
+  }
+
+  private ISBN get(final long value) {
+    int set = slots.set(value);
+    ISBN first = slots.get(set);
+    if (null != first && value == first.toLong()) {
+      hits.increment();
+      return first;
+    }
+
+    ISBN second = slots.get(set + 1);
+    if (null != second && value == second.toLong()) {
+      hits.increment();
+      slots.promote(set, first, second);
+      return second;
+    }
+
+    misses.increment();
+    return null;
+  }
+
+  private void put(final ISBN isbn) {
+    slots.insert(slots.set(isbn.toLong()), isbn);
+  }
+}
@@ -0,0 +1,463 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+
+/**
+ * Validates ISBNs in a column of a line oriented file (CSV, TSV and alike).
+ * The file is memory-mapped in newline aligned chunks which are scanned in
+ * parallel, bytes are scanned as UTF-8 without decoding.
+ *
+ * <p>A field is the text between delimiters with a trailing {@code \r} and
+ * surrounding double quotes removed, quoted delimiters are not supported.
+ * Every line is reported, including empty ones.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNCatalogValidator {
+
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  /**
+   * Receives results of a file
+   */
+  public interface Listener {
+
+    /**
+     * Called from worker threads: lines of a chunk in order, chunks in any order
+     *
+     * @param offset byte offset of the line in the file
+     * @param status parse status of the field
+     * @param isbn13 ISBN-13 as a number, see {@link ISBN#toLong()}, or 0 if the field is not valid
+     */
+    void line(long offset, ISBNParseResult.Status status, long isbn13);
+  }
+
+  /**
+   * Counters of a file
+   */
+  public static final class Summary {
+
+    private long lineCount;
+    private long validCount;
+    private long malformedCount;
+    private long suspectCheckDigitCount;
+
+    /**
+     * @return number of lines
+     */
+    public long getLineCount() {
+      return lineCount;
+    }
+
+    /**
+     * @return number of valid fields
+     */
+    public long getValidCount() {
+      return validCount;
+    }
+
+    /**
+     * @return number of malformed or missing fields
+     */
+    public long getMalformedCount() {
+      return malformedCount;
+    }
+
+    /**
+     * @return number of fields with wrong check digit
+     */
+    public long getSuspectCheckDigitCount() {
+      return suspectCheckDigitCount;
+    }
+
+    private void add(final Summary other) {
+      lineCount += other.lineCount;
+      validCount += other.validCount;
+      malformedCount += other.malformedCount;
+      suspectCheckDigitCount += other.suspectCheckDigitCount;
+    }
+
+    /**
+     * Returns a string representation of the object.
+     *
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+      return String.format("%s[lines=%d,valid=%d,malformed=%d,suspectCheckDigit=%d]", getClass().getName(),
+        lineCount, validCount, malformedCount, suspectCheckDigitCount);
+    }
+  }
+
+  private static final byte[][] STATUS_NAMES = statusNames();
+
+  private int column;
+  private char delimiter;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  public ISBNCatalogValidator() {
+    this(0, '\t');
+  }
+
+  /**
+   * @param column zero based column index
+   * @param delimiter ASCII field delimiter
+   */
+  public ISBNCatalogValidator(final int column, final char delimiter) {
+    setColumn(column);
+    setDelimiter(delimiter);
+  }
+
+  /**
+   * @return zero based column index
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * @param column zero based column index
+   */
+  public void setColumn(final int column) {
+    if (0 > column)
+      throw new IllegalArgumentException("column = " + column);
+
+    this.column = column;
+  }
+
+  /**
+   * @return field delimiter
+   */
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  /**
+   * @param delimiter ASCII field delimiter
+   */
+  public void setDelimiter(final char delimiter) {
+    if (0x7F < delimiter || '\n' == delimiter || '\r' == delimiter)
+      throw new IllegalArgumentException("delimiter = " + delimiter);
+
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * @return bytes per chunk, a chunk is extended to the end of its last line
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * @param chunkSize bytes per chunk, a chunk is extended to the end of its last line
+   */
+  public void setChunkSize(final int chunkSize) {
+    if (0 >= chunkSize)
+      throw new IllegalArgumentException("chunkSize = " + chunkSize);
+
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * @return pool which scans chunks
+   */
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * @param pool pool which scans chunks, its parallelism is the number of workers
+   */
+  public void setPool(final ForkJoinPool pool) {
+    if (null == pool)
+      throw new IllegalArgumentException("pool = null");
+
+    this.pool = pool;
+  }
+
+  /**
+   * Validate the file and pass every line to the listener
+   *
+   * @param input input file
+   * @param listener thread safe listener
+   * @return counters
+   * @throws IOException if something is wrong
+   */
+  public Summary validate(final Path input, final Listener listener) throws IOException {
+    if (null == listener)
+      throw new IllegalArgumentException("listener = null");
+
+    return validate(input, listener, null);
+  }
+
+  /**
+   * Validate the file and write a line per input line: status, delimiter and
+   * ISBN-13 if the status is {@link ISBNParseResult.Status#VALID},
+   * e.g. {@code VALID<TAB>9780321130020} or {@code MALFORMED<TAB>}
+   *
+   * @param input input file
+   * @param output output file, it is replaced
+   * @return counters
+   * @throws IOException if something is wrong
+   */
+  public Summary validate(final Path input, final Path output) throws IOException {
+    OutputStream out = Files.newOutputStream(output);
+    try {
+      return validate(input, null, out);
+    } finally {
+      out.close();
+    }
+  }
+
+  private Summary validate(final Path input, final Listener listener, final OutputStream out) throws IOException {
+    FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+    try {
+      long[] bounds = chunks(channel);
+
+      // Chunks are written in order, a few of them are in flight
+      Summary summary = new Summary();
+      Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<ForkJoinTask<Chunk>>();
+      int window = 2 * pool.getParallelism();
+      try {
+        for (int k = 0; k + 1 < bounds.length; ++k) {
+          inFlight.add(pool.submit(new Chunk(channel, bounds[k], bounds[k + 1], listener, null != out)));
+          if (window <= inFlight.size())
+            complete(inFlight.poll(), summary, out);
+        }
+        while (!inFlight.isEmpty())
+          complete(inFlight.poll(), summary, out);
+      } finally {
+        for (ForkJoinTask<Chunk> task : inFlight)
+          task.cancel(true);
+      }
+      return summary;
+    } finally {
+      channel.close();
+    }
+  }
+
+  private static void complete(final ForkJoinTask<Chunk> task, final Summary summary, final OutputStream out) throws IOException {
+    Chunk chunk;
+    try {
+      chunk = task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException)
+        throw ((UncheckedIOException) cause).getCause();
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      throw new IOException(cause);
+    }
+
+    summary.add(chunk.summary);
+    if (null != out)
+      chunk.output.writeTo(out);
+  }
+
+  /**
+   * @return chunk bounds, each chunk but the last one ends right after a newline
+   */
+  private long[] chunks(final FileChannel channel) throws IOException {
+    long size = channel.size();
+    long[] bounds = new long[16];
+    int count = 1;
+    ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+
+    for (long start = 0; start < size; ) {
+      long end = start + chunkSize;
+      if (end >= size) {
+        end = size;
+      } else {
+        end = afterNewline(channel, end - 1, size, buffer);
+      }
+
+      if (bounds.length == count)
+        bounds = Arrays.copyOf(bounds, 2 * count);
+      bounds[count++] = start = end;
+    }
+
+    return Arrays.copyOf(bounds, count);
+  }
+
+  private static long afterNewline(final FileChannel channel, final long from, final long size, final ByteBuffer buffer) throws IOException {
+    for (long position = from; position < size; ) {
+      buffer.clear();
+      int n = channel.read(buffer, position);
+      if (0 >= n)
+        break;
+
+      for (int i = 0; i < n; ++i) {
+        if ('\n' == buffer.get(i))
+          return position + i + 1;
+      }
+      position += n;
+    }
+    return size;
+  }
+
+  private static byte[][] statusNames() {
+    ISBNParseResult.Status[] statuses = ISBNParseResult.Status.values();
+    byte[][] names = new byte[statuses.length][];
+    for (ISBNParseResult.Status status : statuses)
+      names[status.ordinal()] = status.name().getBytes(StandardCharsets.US_ASCII);
+    return names;
+  }
+
+  /**
+   * Scans a chunk, output is buffered until it is the chunk's turn to be written
+   */
+  private final class Chunk implements Callable<Chunk> {
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private final Listener listener;
+    private final ByteArrayOutputStream output;
+    private final Summary summary = new Summary();
+
+    Chunk(final FileChannel channel, final long start, final long end, final Listener listener, final boolean output) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+      this.listener = listener;
+      this.output = (output ? new ByteArrayOutputStream((int) Math.min(1024 * 1024, end - start)) : null);
+    }
+
+    @Override
+    public Chunk call() {
+      MappedByteBuffer buffer;
+      try {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      byte separator = (byte) delimiter;
+      byte[] digits = new byte[13];
+      int limit = buffer.limit();
+      for (int lineStart = 0; lineStart < limit; ) {
+        int field = 0;
+        int fieldStart = (0 == column ? lineStart : -1);
+        int fieldEnd = -1;
+        int lineEnd = lineStart;
+        for (; lineEnd < limit; ++lineEnd) {
+          byte b = buffer.get(lineEnd);
+          if ('\n' == b)
+            break;
+
+          if (separator == b) {
+            if (column == field)
+              fieldEnd = lineEnd;
+            if (column == ++field)
+              fieldStart = lineEnd + 1;
+          }
+        }
+
+        long token = ISBNLexer.MALFORMED;
+        if (0 <= fieldStart) {
+          if (0 > fieldEnd) {
+            fieldEnd = lineEnd;
+            if (fieldStart < fieldEnd && '\r' == buffer.get(fieldEnd - 1))
+              --fieldEnd;
+          }
+          if (2 <= fieldEnd - fieldStart && '"' == buffer.get(fieldStart) && '"' == buffer.get(fieldEnd - 1)) {
+            ++fieldStart;
+            --fieldEnd;
+          }
+          long scanStart = Metrics.start();
+          token = ISBNLexer.scan(buffer, fieldStart, fieldEnd, true);
+          Metrics.parsed(token, scanStart);
+        }
+
+        ISBNParseResult.Status status = ISBNLexer.status(token);
+        long isbn13 = (ISBNParseResult.Status.VALID == status ? ISBNLexer.isbn13(token) : 0L);
+        count(status);
+
+        if (null != listener)
+          listener.line(start + lineStart, status, isbn13);
+
+        if (null != output) {
+          byte[] name = STATUS_NAMES[status.ordinal()];
+          output.write(name, 0, name.length);
+          output.write(separator);
+          if (0L != isbn13) {
+            long value = isbn13;
+            for (int i = digits.length - 1; i >= 0; --i, value /= 10)
+              digits[i] = (byte) ('0' + value % 10);
+            output.write(digits, 0, digits.length);
+          }
+          output.write('\n');
+        }
+
+        lineStart = lineEnd + 1;
+      }
+
+      return this;
+    }
+
+    private void count(final ISBNParseResult.Status status) {
+      ++summary.lineCount;
+      switch (status) {
+        case VALID:
+          ++summary.validCount;
+          break;
+
+        case MALFORMED:
+          ++summary.malformedCount;
+          break;
+
+        default:
+          ++summary.suspectCheckDigitCount;
+      }
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+
+import com.github.ladutsko.isbn.util.CheckDigits;
+
+/**
+ * Compact binary form of ISBN. The check digit is implied and the prefix
+ * 978 or 979 takes one bit, so an ISBN is a non-negative int:
+ * {@code body - 978000000000} where body is ISBN-13 without the check digit.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNCodec {
+
+  /**
+   * Size of the encoded ISBN
+   */
+  public static final int BYTES = Integer.BYTES;
+
+  private static final long MIN_BODY = ISBN.MIN_VALUE / 10;
+  private static final long MAX_CODE = (ISBN.MAX_VALUE / 10) - MIN_BODY;
+
+  private ISBNCodec() {
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return code
+   */
+  public static int encode(final ISBN isbn) {
+    return code(isbn.toLong());
+  }
+
+  /**
+   * @param code value returned by {@link #encode(ISBN)}
+   * @return ISBN
+   * @throws ISBNException if the code is out of range
+   */
+  public static ISBN decode(final int code) throws ISBNException {
+    if (0 > code || MAX_CODE < code)
+      throw new ISBNException("Not valid ISBN code: " + code);
+
+    return new ISBN(value(code));
+  }
+
+  /**
+   * @param isbn ISBN
+   * @param out output
+   * @throws IOException if write fails
+   */
+  public static void write(final ISBN isbn, final DataOutput out) throws IOException {
+    out.writeInt(encode(isbn));
+  }
+
+  /**
+   * @param in input
+   * @return ISBN
+   * @throws IOException if read fails or the code is out of range
+   */
+  public static ISBN read(final DataInput in) throws IOException {
+    int code = in.readInt();
+    try {
+      return decode(code);
+    } catch (ISBNException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Write ISBN at the buffer position in the buffer byte order
+   *
+   * @param isbn ISBN
+   * @param out buffer
+   * @return out
+   */
+  public static ByteBuffer write(final ISBN isbn, final ByteBuffer out) {
+    return out.putInt(encode(isbn));
+  }
+
+  /**
+   * Read ISBN at the buffer position in the buffer byte order
+   *
+   * @param in buffer
+   * @return ISBN
+   * @throws ISBNException if the code is out of range
+   */
+  public static ISBN read(final ByteBuffer in) throws ISBNException {
+    return decode(in.getInt());
+  }
+
+  /**
+   * Write ISBNs as consecutive codes
+   *
+   * @param isbns ISBNs
+   * @param out buffer
+   * @return out
+   */
+  public static ByteBuffer writeAll(final ISBN[] isbns, final ByteBuffer out) {
+    for (ISBN isbn : isbns)
+      out.putInt(encode(isbn));
+    return out;
+  }
+
+  /**
+   * Read ISBNs written by {@link #writeAll(ISBN[], ByteBuffer)}
+   *
+   * @param in buffer
+   * @param count number of ISBNs
+   * @return ISBNs
+   * @throws ISBNException if a code is out of range
+   */
+  public static ISBN[] readAll(final ByteBuffer in, final int count) throws ISBNException {
+    ISBN[] isbns = new ISBN[count];
+    for (int i = 0; i < count; ++i)
+      isbns[i] = decode(in.getInt());
+    return isbns;
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return externalizable holder which deserializes as the ISBN itself
+   */
+  public static Externalized externalizable(final ISBN isbn) {
+    return new Externalized(isbn);
+  }
+
+  /**
+   * @param value valid ISBN-13 as a number
+   * @return code
+   */
+  static int code(final long value) {
+    return (int) (value / 10 - MIN_BODY);
+  }
+
+  /**
+   * @param code code in range
+   * @return ISBN-13 as a number
+   */
+  static long value(final int code) {
+    long body = MIN_BODY + code;
+    return body * 10 + CheckDigits.checkDigit13(body);
+  }
+
+  /**
+   * Holder of ISBN for Java serialization with 4 bytes of payload instead of
+   * the ISBN-13 string. Deserialization returns {@link ISBN}.
+   */
+  public static final class Externalized implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ISBN isbn;
+
+    /**
+     * For deserialization only
+     */
+    public Externalized() {
+    }
+
+    Externalized(final ISBN isbn) {
+      if (null == isbn)
+        throw new IllegalArgumentException("isbn = null");
+
+      this.isbn = isbn;
+    }
+
+    /**
+     * @return ISBN
+     */
+    public ISBN getIsbn() {
+      return isbn;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+      out.writeInt(encode(isbn));
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+      int code = in.readInt();
+      try {
+        isbn = decode(code);
+      } catch (ISBNException e) {
+        throw new InvalidObjectException(e.getMessage());
+      }
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+      return isbn;
+    }
+  }
+}
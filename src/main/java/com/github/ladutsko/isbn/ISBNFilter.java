@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+
+/**
+ * Bloom filter of ISBNs in a direct buffer. It answers "definitely not" or
+ * "maybe": there are no false negatives, false positives happen with the
+ * configured probability. 100M ISBNs take 120 MB off heap at 1% or 102 MB at 2%.
+ *
+ * <p>Puts are not thread safe. Once built and safely published, a filter
+ * may be read by any number of threads.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNFilter {
+
+  private static final int MAGIC = 0x49534246;
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 16;
+  private static final int MAX_WORD_COUNT = (Integer.MAX_VALUE - HEADER_LENGTH) / Long.BYTES;
+
+  private final ByteBuffer buffer;
+  private final LongBuffer words;
+  private final long bitCount;
+  private final int hashCount;
+
+  private ISBNFilter(final ByteBuffer buffer, final int hashCount) {
+    this.buffer = buffer;
+    this.words = buffer.asLongBuffer();
+    this.bitCount = (long) words.capacity() * Long.SIZE;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * @param expectedInsertions number of ISBNs to put
+   * @param fpp false positive probability, between 0 and 1 exclusive
+   * @return empty filter
+   */
+  public static ISBNFilter create(final long expectedInsertions, final double fpp) {
+    if (0 > expectedInsertions)
+      throw new IllegalArgumentException("expectedInsertions = " + expectedInsertions);
+    if (!(0 < fpp && 1 > fpp))
+      throw new IllegalArgumentException("fpp = " + fpp);
+
+    // Optimal m = -n ln p / (ln 2)^2 and k = m / n ln 2
+    long n = Math.max(1, expectedInsertions);
+    double bits = -n * Math.log(fpp) / (Math.log(2) * Math.log(2));
+    long wordCount = Math.max(1, (long) Math.ceil(bits / Long.SIZE));
+    if (MAX_WORD_COUNT < wordCount)
+      throw new IllegalArgumentException("Too large filter: " + wordCount * Long.BYTES + " bytes");
+
+    int hashCount = Math.max(1, (int) Math.round(bits / n * Math.log(2)));
+    return new ISBNFilter(allocate((int) wordCount), hashCount);
+  }
+
+  /**
+   * @param isbns ISBNs
+   * @param expectedInsertions number of ISBNs
+   * @param fpp false positive probability
+   * @return filter of the ISBNs
+   */
+  public static ISBNFilter build(final Stream<ISBN> isbns, final long expectedInsertions, final double fpp) {
+    ISBNFilter filter = create(expectedInsertions, fpp);
+    isbns.sequential().forEach(filter::put);
+    return filter;
+  }
+
+  /**
+   * @param isbns normalized ISBN-13 or ISBN-10 strings, not valid ISBNs are skipped
+   * @param expectedInsertions number of ISBNs
+   * @param fpp false positive probability
+   * @return filter of the valid ISBNs
+   */
+  public static ISBNFilter buildFromStrings(final Stream<? extends CharSequence> isbns, final long expectedInsertions, final double fpp) {
+    ISBNFilter filter = create(expectedInsertions, fpp);
+    isbns.sequential().forEach(input -> {
+      long token = (null == input ? ISBNLexer.MALFORMED : ISBNLexer.scan(input, true));
+      if (ISBNLexer.isValid(token))
+        filter.put(ISBNLexer.isbn13(token));
+    });
+    return filter;
+  }
+
+  /**
+   * Read filter written by {@link #write(Path)} into a direct buffer
+   *
+   * @param file file
+   * @return filter
+   * @throws IOException if the file is not a filter or cannot be read
+   */
+  public static ISBNFilter read(final Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, header, file);
+      if (MAGIC != header.getInt(0))
+        throw new IOException("Not an ISBN filter: " + file);
+
+      int version = header.getInt(4);
+      if (VERSION != version)
+        throw new IOException("Unsupported ISBN filter version: " + version);
+
+      int hashCount = header.getInt(8);
+      int wordCount = header.getInt(12);
+      if (0 >= hashCount || 0 >= wordCount || MAX_WORD_COUNT < wordCount
+          || HEADER_LENGTH + (long) wordCount * Long.BYTES != channel.size())
+        throw new IOException("Corrupted ISBN filter: " + file);
+
+      ByteBuffer buffer = allocate(wordCount);
+      readFully(channel, buffer, file);
+      buffer.clear();
+      return new ISBNFilter(buffer, hashCount);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * @param file file to write, it is replaced atomically if exists
+   * @throws IOException if write fails
+   */
+  public void write(final Path file) throws IOException {
+    AtomicFile.write(file, channel -> {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putInt(hashCount).putInt(words.capacity()).flip();
+      writeFully(channel, header);
+      writeFully(channel, buffer.duplicate());
+    });
+  }
+
+  /**
+   * @param isbn ISBN
+   */
+  public void put(final ISBN isbn) {
+    put(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   */
+  public void put(final long isbn) {
+    long h1 = mix(isbn);
+    long h2 = mix(h1);
+    for (int i = 0; i < hashCount; ++i, h1 += h2) {
+      long bit = (h1 & Long.MAX_VALUE) % bitCount;
+      int index = (int) (bit >>> 6);
+      words.put(index, words.get(index) | 1L << bit);
+    }
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return false if the filter definitely does not contain the ISBN
+   */
+  public boolean mightContain(final ISBN isbn) {
+    return mightContain(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return false if the filter definitely does not contain the ISBN
+   */
+  public boolean mightContain(final long isbn) {
+    long h1 = mix(isbn);
+    long h2 = mix(h1);
+    for (int i = 0; i < hashCount; ++i, h1 += h2) {
+      long bit = (h1 & Long.MAX_VALUE) % bitCount;
+      if (0L == (words.get((int) (bit >>> 6)) & 1L << bit))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param input character sequence which contains ISBN
+   * @return false if the input is not valid ISBN or the filter definitely does not contain it
+   */
+  public boolean mightContain(final CharSequence input) {
+    if (null == input)
+      return false;
+
+    long token = ISBNLexer.scan(input, true);
+    return ISBNLexer.isValid(token) && mightContain(ISBNLexer.isbn13(token));
+  }
+
+  /**
+   * @return size of the bit array
+   */
+  public long getBitCount() {
+    return bitCount;
+  }
+
+  /**
+   * @return number of bits per ISBN
+   */
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  /**
+   * Murmur3 finalizer, ISBNs differ in low digits only
+   */
+  private static long mix(final long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static ByteBuffer allocate(final int wordCount) {
+    // Little endian in memory as in the file, so read and write are plain copies
+    return ByteBuffer.allocateDirect(wordCount * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final Path file) throws IOException {
+    while (buffer.hasRemaining())
+      if (0 > channel.read(buffer))
+        throw new IOException("Truncated ISBN filter: " + file);
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+  }
+}
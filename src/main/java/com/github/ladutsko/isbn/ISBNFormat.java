@@ -23,21 +23,30 @@
 
 package com.github.ladutsko.isbn;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.regex.Matcher;
 
-import com.github.ladutsko.isbn.impl.model.Group;
-import com.github.ladutsko.isbn.impl.model.ISBNRangeMessage;
-import com.github.ladutsko.isbn.impl.model.Rule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+import com.github.ladutsko.isbn.impl.RangeTable;
+import com.github.ladutsko.isbn.impl.model.ISBNRangeMessage;
+import com.github.ladutsko.isbn.util.CheckDigits;
+import com.github.ladutsko.isbn.util.RangeMessageException;
 import com.github.ladutsko.isbn.util.RangeMessageLoader;
+import com.github.ladutsko.isbn.util.RangeMessageWatcher;
 
 /**
  * ISBN format
@@ -51,12 +60,31 @@ public class ISBNFormat {
   public static final String HYPHEN_GROUP_SEPARATOR = "-";
   public static final String SPACE_GROUP_SEPARATOR = " ";
 
+  /**
+   * System property with path to external RangeMessage.xml which is used
+   * instead of the bundled one and is reloaded whenever it changes
+   */
+  public static final String RANGE_MESSAGE_PROPERTY = "com.github.ladutsko.isbn.rangeMessage";
+
   private static final String RANGE_MESSAGE_RESOURCE_NAME = "RangeMessage.xml";
+  /**
+   * Bundled RangeMessage.xml compiled at build time
+   */
+  private static final String RANGE_TABLE_RESOURCE_NAME = "RangeTable.bin";
 
-  private static final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
-  private static Map<String, List<Range>> globalRangeMap;
+  private static final Object LOCK = new Object();
+
+  /**
+   * Immutable snapshot, steady state formatting is a single volatile read
+   */
+  private static volatile RangeTable globalRangeTable;
+  /**
+   * The only background watcher, guarded by {@link #LOCK}
+   */
+  private static Closeable watcher;
 
   private String groupSeparator;
+  private FormatCache cache;
 
   public ISBNFormat() {
     this(HYPHEN_GROUP_SEPARATOR);
@@ -80,6 +108,28 @@ public class ISBNFormat {
     this.groupSeparator = groupSeparator;
   }
 
+  /**
+   * @return maximum number of cached formatted ISBNs, 0 if the cache is disabled
+   */
+  public int getCacheSize() {
+    return (null == cache ? 0 : cache.size());
+  }
+
+  /**
+   * Enable cache of formatted ISBNs. Entries are keyed by the ISBN digits,
+   * its form and the group separator, and are dropped when the range table
+   * is reloaded. The cache is lock-free and shared by all threads using
+   * this formatter.
+   *
+   * @param cacheSize maximum number of cached formatted ISBNs rounded up to a power of two, 0 to disable
+   */
+  public void setCacheSize(final int cacheSize) {
+    if (0 > cacheSize || 1 << 30 < cacheSize)
+      throw new IllegalArgumentException("cacheSize = " + cacheSize);
+
+    this.cache = (0 == cacheSize ? null : new FormatCache(cacheSize));
+  }
+
   /**
    * Format ISBN
    *
@@ -103,113 +153,592 @@ public class ISBNFormat {
     if (null == input)
       return null;
 
-    Matcher m = ISBN.matcher(input);
-    LOGGER.debug("Matcher: {}", m);
+    long start = Metrics.start();
+    String formatted = format(scan(input, start), (null == groupSeparator ? HYPHEN_GROUP_SEPARATOR : groupSeparator));
+    Metrics.formatted(true, start);
+    return formatted;
+  }
 
-    assert 2 == m.groupCount() : "Unexpected groups count: " + m.groupCount();
+  /**
+   * Format ISBN into the appendable
+   *
+   * @param input character sequence which contains ISBN, nothing is appended if it is null
+   * @param out appendable
+   * @throws ISBNException if something is wrong
+   * @throws IOException if append fails
+   */
+  public void formatTo(final CharSequence input, final Appendable out) throws ISBNException, IOException {
+    if (null == input)
+      return;
 
-    if (null != m.group(1)) {
-      return format(ISBN.normalize(input), (null == groupSeparator ? HYPHEN_GROUP_SEPARATOR : groupSeparator), 3);
-    } else {
-      return format(ISBN.normalize(input), (null == groupSeparator ? HYPHEN_GROUP_SEPARATOR : groupSeparator), 0);
+    String separator = getGroupSeparator();
+    if (null != separator && 1 == separator.length())
+      formatTo(input, separator.charAt(0), out);
+    else
+      out.append(format(input, separator));
+  }
+
+  /**
+   * Format ISBN into the appendable without intermediate strings
+   *
+   * @param input character sequence which contains ISBN, nothing is appended if it is null
+   * @param groupSeparator groupSeparator
+   * @param out appendable
+   * @throws ISBNException if something is wrong
+   * @throws IOException if append fails
+   */
+  public void formatTo(final CharSequence input, final char groupSeparator, final Appendable out) throws ISBNException, IOException {
+    if (null == input)
+      return;
+
+    long start = Metrics.start();
+    long token = scan(input, start);
+    append(token, separators(token), groupSeparator, out);
+    Metrics.formatted(true, start);
+  }
+
+  /**
+   * Format ISBN into the string builder without intermediate strings
+   *
+   * @param input character sequence which contains ISBN, nothing is appended if it is null
+   * @param groupSeparator groupSeparator
+   * @param out string builder
+   * @return out
+   * @throws ISBNException if something is wrong
+   */
+  public StringBuilder formatTo(final CharSequence input, final char groupSeparator, final StringBuilder out) throws ISBNException {
+    if (null == input)
+      return out;
+
+    long start = Metrics.start();
+    long token = scan(input, start);
+    int separators = separators(token);
+    out.ensureCapacity(out.length() + length(token, separators));
+    try {
+      append(token, separators, groupSeparator, out);
+    } catch (IOException e) {
+      // StringBuilder does not throw it
+      throw new IllegalStateException(e);
     }
+    Metrics.formatted(true, start);
+    return out;
   }
 
-  protected String format(final String input, final String groupSeparator, final int beginIndex) {
-    Map<String, List<Range>> rangeMap = getRangeMap();
-    StringBuilder sb = new StringBuilder(17);
-    if (0 < beginIndex)
-      sb.append(input, 0, 3).append(groupSeparator);
-    int start = beginIndex + 1;
-    int end = beginIndex + 7;
-    for (int i = start; end >= i; ++i) {
-      String prefix = (0 == beginIndex ? ISBN.DEFAULT_PREFIX + input.substring(0, i) : input.substring(0, i));
-      List<Range> rangeList = rangeMap.get(prefix);
-      LOGGER.debug("Prefix {} contains {} range(s)", prefix, (null == rangeList ? 0 : rangeList.size()));
-      if (null == rangeList) {
-        continue;
-      }
-      sb.append(input, beginIndex, i).append(groupSeparator);
-      if (rangeList.isEmpty()) {
-        return sb.append(input, i, beginIndex + 9).append(groupSeparator).append(input.substring(beginIndex + 9)).toString();
-      } else {
-        for (Range range : rangeList) {
-          String pubIdStr = input.substring(i, i + range.length);
-          int pubId = Integer.parseInt(pubIdStr);
-          if (range.min <= pubId && range.max >= pubId) {
-            LOGGER.debug("Found publisher range {}-{}. Return formatted isbn.", range.min, range.max);
-            return sb.append(pubIdStr).append(groupSeparator).append(input, i + range.length, beginIndex + 9).append(groupSeparator).append(input.substring(beginIndex + 9)).toString();
-          }
+  /**
+   * Format ISBN into the buffer at its position
+   *
+   * @param input character sequence which contains ISBN, nothing is written if it is null
+   * @param groupSeparator groupSeparator
+   * @param out buffer
+   * @return out
+   * @throws ISBNException if something is wrong
+   * @throws BufferOverflowException if the formatted ISBN does not fit, nothing is written
+   */
+  public CharBuffer formatTo(final CharSequence input, final char groupSeparator, final CharBuffer out) throws ISBNException {
+    if (null == input)
+      return out;
+
+    long start = Metrics.start();
+    long token = scan(input, start);
+    int separators = separators(token);
+    if (out.remaining() < length(token, separators))
+      throw new BufferOverflowException();
+
+    try {
+      append(token, separators, groupSeparator, out);
+    } catch (IOException e) {
+      // CharBuffer does not throw it
+      throw new IllegalStateException(e);
+    }
+    Metrics.formatted(true, start);
+    return out;
+  }
+
+  /**
+   * Format ISBN into the array
+   *
+   * @param input character sequence which contains ISBN, nothing is written if it is null
+   * @param groupSeparator groupSeparator
+   * @param out array
+   * @param offset index of the first character to write
+   * @return number of written characters
+   * @throws ISBNException if something is wrong
+   * @throws IndexOutOfBoundsException if the formatted ISBN does not fit, nothing is written
+   */
+  public int formatTo(final CharSequence input, final char groupSeparator, final char[] out, final int offset) throws ISBNException {
+    if (null == input)
+      return 0;
+
+    long start = Metrics.start();
+    long token = scan(input, start);
+    int separators = separators(token);
+    int length = length(token, separators);
+    if (0 > offset || out.length - offset < length)
+      throw new IndexOutOfBoundsException("offset = " + offset + ", length = " + length + ", capacity = " + out.length);
+
+    long digits = RangeTable.toDigits(ISBNLexer.body(token));
+    int k = offset;
+    for (int p = (ISBNLexer.isIsbn13(token) ? 0 : 3); p < 12; ++p) {
+      out[k++] = (char) ('0' + RangeTable.digit(digits, p));
+      if (0 != (separators & 1 << p))
+        out[k++] = groupSeparator;
+    }
+    out[k] = ISBNLexer.toChar(ISBNLexer.inputCheckDigit(token));
+    Metrics.formatted(true, start);
+    return length;
+  }
+
+  /**
+   * Format ISBN as ISBN-13 without scanning its string form
+   *
+   * @param isbn ISBN
+   * @return formatted ISBN-13 or null if isbn is null
+   */
+  public String formatIsbn13(final ISBN isbn) {
+    if (null == isbn)
+      return null;
+
+    long start = Metrics.start();
+    long value = isbn.toLong();
+    String formatted = format(value / 10, true, (char) ('0' + value % 10), getRangeTable().lookup(value / 10), separator());
+    Metrics.formatted(true, start);
+    return formatted;
+  }
+
+  /**
+   * Format ISBN as ISBN-10, see {@link #formatIsbn13(ISBN)}
+   *
+   * @param isbn ISBN
+   * @return formatted ISBN-10 or null if isbn is null or has not 978 prefix
+   */
+  public String formatIsbn10(final ISBN isbn) {
+    if (null == isbn)
+      return null;
+
+    long value = isbn.toLong();
+    if (ISBN.DEFAULT_PREFIX_VALUE != value / 10000000000L)
+      return null;
+
+    long start = Metrics.start();
+    String formatted = format(value / 10, false, ISBNLexer.toChar(CheckDigits.checkDigit10(value / 10)), getRangeTable().lookup(value / 10), separator());
+    Metrics.formatted(true, start);
+    return formatted;
+  }
+
+  /**
+   * Break ISBN down into prefix, registration group, registrant, publication
+   * and check digit without formatting
+   *
+   * @param isbn ISBN
+   * @return elements of the ISBN or null if isbn is null
+   */
+  public ISBNParts parts(final ISBN isbn) {
+    if (null == isbn)
+      return null;
+
+    RangeTable rangeTable = getRangeTable();
+    int layout = rangeTable.lookup(isbn.toLong() / 10);
+    return new ISBNParts(isbn, layout, (RangeTable.NOT_FOUND == layout ? null : rangeTable.getAgency(RangeTable.group(layout))));
+  }
+
+  /**
+   * Parse, validate and format ISBN at once: the input is scanned once, the
+   * range lookup is done once and ISBN-10 and formatted forms are built in
+   * one pass over the digits. The same as {@link ISBN#parseIsbn(CharSequence)},
+   * {@link ISBN#getIsbn13()}, {@link ISBN#getIsbn10()} and {@link #format(CharSequence)}.
+   *
+   * @param input character sequence which contains ISBN
+   * @return ISBN and its forms
+   * @throws ISBNException if something is wrong
+   */
+  public ISBNForms parseAndFormat(final CharSequence input) throws ISBNException {
+    if (null == input || 0 == input.length())
+      throw new IllegalArgumentException("isbn = " + input);
+
+    long start = Metrics.start();
+    long token = ISBNLexer.scan(input, true);
+    Metrics.parsed(token, start);
+    if (!ISBNLexer.isValid(token))
+      throw ISBN.parseException(token, input);
+
+    RangeTable rangeTable = getRangeTable();
+    long body = ISBNLexer.body(token);
+    int layout = rangeTable.lookup(body);
+    boolean isbn13 = ISBNLexer.isIsbn13(token);
+    boolean has10 = ISBN.DEFAULT_PREFIX_VALUE == body / 1000000000L;
+    int separators = separators(layout, isbn13);
+    String groupSeparator = separator();
+    int separatorLength = groupSeparator.length();
+
+    char[] chars10 = (has10 ? new char[10] : null);
+    char[] formatted = new char[(isbn13 ? 13 : 10) + Integer.bitCount(separators) * separatorLength];
+    long digits = RangeTable.toDigits(body);
+    int k = 0;
+    for (int p = 0; p < 12; ++p) {
+      char ch = (char) ('0' + RangeTable.digit(digits, p));
+      if (has10 && 3 <= p)
+        chars10[p - 3] = ch;
+      if (isbn13 || 3 <= p) {
+        formatted[k++] = ch;
+        if (0 != (separators & 1 << p)) {
+          groupSeparator.getChars(0, separatorLength, formatted, k);
+          k += separatorLength;
         }
-        break;
       }
     }
+    long value = ISBNLexer.isbn13(token);
+    char check10 = (isbn13 ? (has10 ? ISBNLexer.toChar(CheckDigits.checkDigit10(body)) : 0) : ISBNLexer.toChar(ISBNLexer.checkDigit(token)));
+    if (has10)
+      chars10[9] = check10;
+    formatted[k] = (isbn13 ? (char) ('0' + value % 10) : check10);
+
+    ISBNForms forms = new ISBNForms(new ISBN(value), String.valueOf(value), (has10 ? new String(chars10) : null), new String(formatted));
+    Metrics.formatted(true, start);
+    return forms;
+  }
+
+  /**
+   * Format normalized ISBN
+   *
+   * @param input normalized ISBN
+   * @param groupSeparator groupSeparator
+   * @param beginIndex 3 for ISBN-13, 0 for ISBN-10
+   * @return formatted ISBN
+   * @throws IllegalArgumentException if input is not well-formed ISBN of the form given by beginIndex
+   */
+  protected String format(final String input, final String groupSeparator, final int beginIndex) {
+    long token = (null == input ? ISBNLexer.MALFORMED : ISBNLexer.scan(input, true));
+    if (ISBNLexer.MALFORMED == token || (3 == beginIndex) != ISBNLexer.isIsbn13(token) || (0 != beginIndex && 3 != beginIndex))
+      throw new IllegalArgumentException("ISBN is not well-formed: " + input + ", beginIndex = " + beginIndex);
+
+    return format(token, groupSeparator);
+  }
+
+  private String format(final long token, final String groupSeparator) {
+    RangeTable rangeTable = getRangeTable();
+    FormatCache formatCache = cache;
+    if (null == formatCache)
+      return format(token, groupSeparator, rangeTable);
+
+    long key = FormatCache.key(token);
+    String formatted = formatCache.get(key, groupSeparator, rangeTable);
+    if (null == formatted) {
+      formatted = format(token, groupSeparator, rangeTable);
+      formatCache.put(key, groupSeparator, rangeTable, formatted);
+    }
+    return formatted;
+  }
+
+  private static String format(final long token, final String groupSeparator, final RangeTable rangeTable) {
+    long body = ISBNLexer.body(token);
+    int layout = rangeTable.lookup(body);
+    if (LOGGER.isDebugEnabled())
+      LOGGER.debug("Layout of {}: {}", body, layout);
+
+    return format(body, ISBNLexer.isIsbn13(token), ISBNLexer.toChar(ISBNLexer.inputCheckDigit(token)), layout, groupSeparator);
+  }
+
+  private static String format(final long body, final boolean isbn13, final char checkDigit, final int layout, final String groupSeparator) {
+    int separators = separators(layout, isbn13);
+    int begin = (isbn13 ? 0 : 3);
+    int separatorLength = groupSeparator.length();
+    char[] chars = new char[13 - begin + Integer.bitCount(separators) * separatorLength];
+
+    long digits = RangeTable.toDigits(body);
+    int k = 0;
+    for (int p = begin; p < 12; ++p) {
+      chars[k++] = (char) ('0' + RangeTable.digit(digits, p));
+      if (0 != (separators & 1 << p)) {
+        groupSeparator.getChars(0, separatorLength, chars, k);
+        k += separatorLength;
+      }
+    }
+    chars[k] = checkDigit;
+    return new String(chars);
+  }
+
+  private String separator() {
+    String separator = getGroupSeparator();
+    return (null == separator ? HYPHEN_GROUP_SEPARATOR : separator);
+  }
+
+  private static long scan(final CharSequence input, final long start) throws ISBNException {
+    long token = ISBNLexer.scan(input, true);
+    if (ISBNLexer.MALFORMED == token) {
+      Metrics.formatted(false, start);
+      throw new ISBNException("ISBN is not well-formed: " + input);
+    }
+
+    return token;
+  }
+
+  private int separators(final long token) {
+    long body = ISBNLexer.body(token);
+    int layout = getRangeTable().lookup(body);
+    if (LOGGER.isDebugEnabled())
+      LOGGER.debug("Layout of {}: {}", body, layout);
 
-    LOGGER.debug("Not matched. Return simple formatted isbn.");
+    return separators(layout, ISBNLexer.isIsbn13(token));
+  }
 
-    sb.setLength(0);
-    if (0 < beginIndex)
-      sb.append(input, 0, 3).append(groupSeparator);
-    return sb.append(input, beginIndex, beginIndex + 9).append(groupSeparator).append(input.substring(beginIndex + 9)).toString();
+  /**
+   * @return length of the formatted ISBN with a single character separator
+   */
+  private static int length(final long token, final int separators) {
+    return (ISBNLexer.isIsbn13(token) ? 13 : 10) + Integer.bitCount(separators);
   }
 
+  private static void append(final long token, final int separators, final char groupSeparator, final Appendable out) throws IOException {
+    long digits = RangeTable.toDigits(ISBNLexer.body(token));
+    for (int p = (ISBNLexer.isIsbn13(token) ? 0 : 3); p < 12; ++p) {
+      out.append((char) ('0' + RangeTable.digit(digits, p)));
+      if (0 != (separators & 1 << p))
+        out.append(groupSeparator);
+    }
+    out.append(ISBNLexer.toChar(ISBNLexer.inputCheckDigit(token)));
+  }
+
+  /**
+   * @return bit mask of digit positions of ISBN-13 which are followed by a group separator
+   */
+  static int separators(final int layout, final boolean isbn13) {
+    int separators = 1 << 11;
+    if (isbn13)
+      separators |= 1 << 2;
+
+    // No group separator in an unassigned range as it was with prefix map
+    if (RangeTable.NOT_FOUND != layout && !RangeTable.isUnassigned(layout)) {
+      int p = 2 + RangeTable.groupLength(layout);
+      separators |= 1 << p;
+
+      int registrantLength = RangeTable.registrantLength(layout);
+      if (0 != registrantLength)
+        separators |= 1 << (p + registrantLength);
+    }
+
+    return separators;
+  }
+
+  /**
+   * Prefix map of the current range table, e.g. {@code 9780} to its
+   * assigned registrant ranges
+   *
+   * @return unmodifiable map
+   * @deprecated ranges are compiled into a lookup table, the map is rebuilt on every call
+   */
+  @Deprecated
   protected Map<String, List<Range>> getRangeMap() {
-    LOGGER.trace("Start getRangeMap ...");
-    rwl.readLock().lock();
-    if (null == globalRangeMap) {
-       // Must release read lock before acquiring write lock
-       rwl.readLock().unlock();
-       rwl.writeLock().lock();
-       try {
-         // Recheck state because another thread might have
-         // acquired write lock and changed state before we did.
-         if (null == globalRangeMap)
-           initialize();
-         // Downgrade by acquiring read lock before releasing write lock
-         rwl.readLock().lock();
-       } finally {
-         rwl.writeLock().unlock(); // Unlock write, still hold read
-       }
-    }
-    rwl.readLock().unlock();
-    return globalRangeMap;
-  }
-
-  private static void initialize() {
+    RangeTable rangeTable = getRangeTable();
+    Map<String, List<Range>> rangeMap = new TreeMap<String, List<Range>>();
+    for (int g = 0; g < rangeTable.getGroupCount(); ++g) {
+      int to = (g + 1 < rangeTable.getGroupCount() ? rangeTable.getFirstRule(g + 1) : rangeTable.getRuleCount());
+      List<Range> rangeList = new ArrayList<Range>(to - rangeTable.getFirstRule(g));
+      for (int r = rangeTable.getFirstRule(g); r < to; ++r) {
+        Range range = new Range();
+        range.length = rangeTable.getRuleLength(r);
+        range.min = rangeTable.getRuleMin(r);
+        range.max = rangeTable.getRuleMax(r);
+        rangeList.add(range);
+      }
+      rangeMap.put(rangeTable.getPrefix(g).replace("-", ""), rangeList);
+    }
+    return Collections.unmodifiableMap(rangeMap);
+  }
+
+  /**
+   * @return range table shared by all formatters, loaded on first use
+   */
+  static RangeTable getRangeTable() {
+    RangeTable rangeTable = globalRangeTable;
+    if (null == rangeTable) {
+      synchronized (LOCK) {
+        // Recheck state because another thread might have
+        // initialized it before we acquired the lock.
+        rangeTable = globalRangeTable;
+        if (null == rangeTable)
+          globalRangeTable = rangeTable = initialize();
+      }
+    }
+    return rangeTable;
+  }
+
+  /**
+   * Load RangeMessage.xml and use it for all formatters. The range table is
+   * replaced atomically, formatting in progress is not blocked.
+   *
+   * @param rangeMessageUrl rangeMessageUrl
+   * @throws RangeMessageException if something is wrong, the current range table is kept
+   */
+  public static void loadRangeMessage(final String rangeMessageUrl) throws RangeMessageException {
+    RangeTable rangeTable = load(rangeMessageUrl);
+    synchronized (LOCK) {
+      globalRangeTable = rangeTable;
+    }
+  }
+
+  /**
+   * Load RangeMessage.xml from the file and reload it in background whenever
+   * it changes. The previous watcher, if any, is stopped.
+   *
+   * @param file RangeMessage.xml file
+   * @return watcher, close it or call {@link #stopWatchingRangeMessage()} to stop watching
+   * @throws RangeMessageException if something is wrong
+   * @throws IOException if the file can not be watched
+   */
+  public static Closeable watchRangeMessage(final Path file) throws RangeMessageException, IOException {
+    loadRangeMessage(file.toUri().toString());
+    synchronized (LOCK) {
+      stopWatchingRangeMessage();
+      watcher = new RangeMessageWatcher(file, changed -> {
+        try {
+          loadRangeMessage(changed.toUri().toString());
+        } catch (RangeMessageException e) {
+          LOGGER.error("Keep current ranges, failed to reload " + changed + ": " + e.getMessage(), e);
+        }
+      });
+      return watcher;
+    }
+  }
+
+  /**
+   * Stop the watcher started by {@link #watchRangeMessage(Path)} or by
+   * {@link #RANGE_MESSAGE_PROPERTY}, the current ranges are kept
+   *
+   * @throws IOException if something is wrong
+   */
+  public static void stopWatchingRangeMessage() throws IOException {
+    synchronized (LOCK) {
+      if (null != watcher) {
+        Closeable previous = watcher;
+        watcher = null;
+        previous.close();
+      }
+    }
+  }
+
+  private static RangeTable initialize() {
     LOGGER.trace("Start initialize ...");
     try {
-      ISBNRangeMessage isbnRangeMessage = new RangeMessageLoader()
-        .load(ISBNFormat.class.getResource(RANGE_MESSAGE_RESOURCE_NAME).toString());
-      Map<String, List<Range>> rangeMap = new TreeMap<String, List<Range>>();
-      for (Group group : isbnRangeMessage.registrationGroups) {
-        List<Rule> ruleList = group.rules;
-        List<Range> rangeList = new ArrayList<Range>(ruleList.size());
-        for (Rule rule : ruleList) {
-          int length = Integer.parseInt(rule.length);
-          if (0 == length)
-            continue;
-
-          String rangeStr = rule.range;
-          int p = rangeStr.indexOf('-');
-
-          Range range = new Range();
-          range.length = length;
-          range.min = Integer.parseInt(rangeStr.substring(0, length));
-          range.max = Integer.parseInt(rangeStr.substring(p+1, p+1+length));
-
-          rangeList.add(range);
-        }
+      String rangeMessageFile = System.getProperty(RANGE_MESSAGE_PROPERTY);
+      if (null == rangeMessageFile) {
+        RangeTable rangeTable = loadPrecompiled();
+        if (null != rangeTable)
+          return rangeTable;
 
-        String prefix = group.prefix.replace("-", "");
-        LOGGER.debug("Put {} range(s) for prefix {}", rangeList.size(), prefix);
-        rangeMap.put(prefix, rangeList);
+        return load(ISBNFormat.class.getResource(RANGE_MESSAGE_RESOURCE_NAME).toString());
       }
-      globalRangeMap = Collections.unmodifiableMap(rangeMap);
+
+      // Watch until JVM exits or stopWatchingRangeMessage
+      watchRangeMessage(Paths.get(rangeMessageFile));
+      return globalRangeTable;
     } catch (Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
   }
 
+  private static RangeTable loadPrecompiled() {
+    InputStream in = ISBNFormat.class.getResourceAsStream(RANGE_TABLE_RESOURCE_NAME);
+    if (null == in) {
+      LOGGER.debug("{} not found, fall back to {}", RANGE_TABLE_RESOURCE_NAME, RANGE_MESSAGE_RESOURCE_NAME);
+      return null;
+    }
+
+    try {
+      long start = Metrics.start();
+      RangeTable rangeTable = RangeTable.read(in);
+      Metrics.rangeTableLoaded(RANGE_TABLE_RESOURCE_NAME, rangeTable, start);
+      LOGGER.debug("Read {} group(s) and {} range(s)", rangeTable.getGroupCount(), rangeTable.getRuleCount());
+      return rangeTable;
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read " + RANGE_TABLE_RESOURCE_NAME + ", fall back to " + RANGE_MESSAGE_RESOURCE_NAME + ": " + e.getMessage(), e);
+      return null;
+    } finally {
+      try {
+        in.close();
+      } catch (IOException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+    }
+  }
+
+  private static RangeTable load(final String rangeMessageUrl) throws RangeMessageException {
+    long start = Metrics.start();
+    ISBNRangeMessage isbnRangeMessage = new RangeMessageLoader().load(rangeMessageUrl);
+    RangeTable rangeTable = RangeTable.compile(isbnRangeMessage);
+    Metrics.rangeTableLoaded(rangeMessageUrl, rangeTable, start);
+    LOGGER.debug("Compiled {} group(s) and {} range(s)", rangeTable.getGroupCount(), rangeTable.getRuleCount());
+    return rangeTable;
+  }
+
+  /**
+   * Formatted ISBNs in {@link TwoWaySlots}. An entry remembers the range
+   * table it was formatted with, so a reloaded table invalidates it.
+   */
+  private static final class FormatCache {
+
+    private final TwoWaySlots<Entry> slots;
+
+    FormatCache(final int size) {
+      this.slots = new TwoWaySlots<Entry>(size);
+    }
+
+    int size() {
+      return slots.capacity();
+    }
+
+    /**
+     * @return digits and form of the input: body, input check digit and ISBN-13 flag
+     */
+    static long key(final long token) {
+      return ISBNLexer.body(token) << 5 | (ISBNLexer.inputCheckDigit(token) & 0xF) << 1 | (ISBNLexer.isIsbn13(token) ? 1 : 0);
+    }
+
+    String get(final long key, final String groupSeparator, final RangeTable rangeTable) {
+      int set = slots.set(key);
+      Entry first = slots.get(set);
+      if (null != first && first.matches(key, groupSeparator, rangeTable))
+        return first.formatted;
+
+      Entry second = slots.get(set + 1);
+      if (null != second && second.matches(key, groupSeparator, rangeTable)) {
+        slots.promote(set, first, second);
+        return second.formatted;
+      }
+
+      return null;
+    }
+
+    void put(final long key, final String groupSeparator, final RangeTable rangeTable, final String formatted) {
+      slots.insert(slots.set(key), new Entry(key, groupSeparator, rangeTable, formatted));
+    }
+  }
+
+  private static final class Entry {
+
+    private final long key;
+    private final String groupSeparator;
+    private final RangeTable rangeTable;
+    private final String formatted;
+
+    Entry(final long key, final String groupSeparator, final RangeTable rangeTable, final String formatted) {
+      this.key = key;
+      this.groupSeparator = groupSeparator;
+      this.rangeTable = rangeTable;
+      this.formatted = formatted;
+    }
+
+    boolean matches(final long key, final String groupSeparator, final RangeTable rangeTable) {
+      return this.key == key && this.rangeTable == rangeTable
+        && (this.groupSeparator == groupSeparator || this.groupSeparator.equals(groupSeparator));
+    }
+  }
+
+  /**
+   * Registrant range of a registration group
+   *
+   * @deprecated see {@link #getRangeMap()}
+   */
+  @Deprecated
   protected static class Range {
     protected int length;
     protected int min;
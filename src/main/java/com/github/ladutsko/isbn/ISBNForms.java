@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+/**
+ * ISBN with its normalized and formatted forms, see {@link ISBNFormat#parseAndFormat(CharSequence)}
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNForms {
+
+  private final ISBN isbn;
+  private final String isbn13;
+  private final String isbn10;
+  private final String formatted;
+
+  ISBNForms(final ISBN isbn, final String isbn13, final String isbn10, final String formatted) {
+    this.isbn = isbn;
+    this.isbn13 = isbn13;
+    this.isbn10 = isbn10;
+    this.formatted = formatted;
+  }
+
+  /**
+   * @return ISBN
+   */
+  public ISBN getIsbn() {
+    return isbn;
+  }
+
+  /**
+   * @return normalized ISBN-13
+   */
+  public String getIsbn13() {
+    return isbn13;
+  }
+
+  /**
+   * @return normalized ISBN-10 or null if ISBN-13 has not 978 prefix
+   */
+  public String getIsbn10() {
+    return isbn10;
+  }
+
+  /**
+   * @return ISBN formatted in the form of the input, as {@link ISBNFormat#format(CharSequence)} does
+   */
+  public String getFormatted() {
+    return formatted;
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s[isbn13=%s,isbn10=%s,formatted=%s]", getClass().getName(), isbn13, (null == isbn10 ? "nonexistent" : isbn10), formatted);
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.github.ladutsko.isbn.util.ISBNSet;
+
+/**
+ * Read only sorted set of ISBNs in a memory mapped file. ISBNs are stored as
+ * ascending {@link ISBNCodec} codes, 4 bytes each, so 50M ISBNs take 200 MB of
+ * page cache shared by all processes which map the file, and nothing on heap.
+ *
+ * <p>Lookups do not allocate and are thread safe.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNIndex {
+
+  private static final int MAGIC = 0x49534249;
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 16;
+  private static final int MAX_SIZE = (Integer.MAX_VALUE - HEADER_LENGTH) / ISBNCodec.BYTES;
+
+  /**
+   * Interpolation steps before search falls back to bisection
+   */
+  private static final int INTERPOLATION_STEPS = 4;
+
+  private final IntBuffer codes;
+  private final int size;
+
+  private ISBNIndex(final IntBuffer codes) {
+    this.codes = codes;
+    this.size = codes.limit();
+  }
+
+  /**
+   * Write index file, duplicates are removed
+   *
+   * @param file file to write, it is replaced atomically if exists
+   * @param isbns ISBN-13 numbers in any order
+   * @throws IOException if write fails
+   * @throws IllegalArgumentException if a number is not valid ISBN-13
+   */
+  public static void write(final Path file, final long[] isbns) throws IOException {
+    long[] sorted = isbns.clone();
+    Arrays.sort(sorted);
+    int[] codes = new int[sorted.length];
+    int count = 0;
+    for (int i = 0; i < sorted.length; ++i) {
+      if (0 < i && sorted[i - 1] == sorted[i])
+        continue;
+
+      if (!ISBN.isValidValue(sorted[i]))
+        throw new IllegalArgumentException("Not valid ISBN-13: " + sorted[i]);
+
+      codes[count++] = ISBNCodec.code(sorted[i]);
+    }
+    if (MAX_SIZE < count)
+      throw new IllegalArgumentException("Too many ISBNs: " + count);
+
+    final int size = count;
+    AtomicFile.write(file, channel -> {
+      ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0);
+      for (int i = 0; i < size; ++i) {
+        if (!buffer.hasRemaining())
+          flush(channel, buffer);
+        buffer.putInt(codes[i]);
+      }
+      flush(channel, buffer);
+    });
+  }
+
+  /**
+   * Write index file
+   *
+   * @param file file to write, it is replaced atomically if exists
+   * @param isbns ISBNs
+   * @throws IOException if write fails
+   * @throws IllegalArgumentException if the set contains a number which is not valid ISBN-13
+   */
+  public static void write(final Path file, final ISBNSet isbns) throws IOException {
+    write(file, isbns.toArray());
+  }
+
+  /**
+   * Map index file, the mapping outlives the open file
+   *
+   * @param file file written by {@code write}
+   * @return index
+   * @throws IOException if the file is not an index or cannot be read
+   */
+  public static ISBNIndex open(final Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long length = channel.size();
+      if (HEADER_LENGTH > length || Integer.MAX_VALUE < length)
+        throw new IOException("Not an ISBN index: " + file);
+
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      if (MAGIC != buffer.getInt(0))
+        throw new IOException("Not an ISBN index: " + file);
+
+      int version = buffer.getInt(4);
+      if (VERSION != version)
+        throw new IOException("Unsupported ISBN index version: " + version);
+
+      int count = buffer.getInt(8);
+      if (0 > count || (long) HEADER_LENGTH + (long) count * ISBNCodec.BYTES != length)
+        throw new IOException("Truncated ISBN index: " + file);
+
+      buffer.position(HEADER_LENGTH);
+      return new ISBNIndex(buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * @return number of ISBNs
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param index index in ascending order
+   * @return ISBN-13 as a number
+   */
+  public long get(final int index) {
+    if (0 > index || size <= index)
+      throw new IndexOutOfBoundsException("index = " + index + ", size = " + size);
+
+    return ISBNCodec.value(codes.get(index));
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the index contains the ISBN
+   */
+  public boolean contains(final ISBN isbn) {
+    return 0 <= search(ISBNCodec.encode(isbn));
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the index contains the ISBN
+   */
+  public boolean contains(final long isbn) {
+    return ISBN.isValidValue(isbn) && 0 <= search(ISBNCodec.code(isbn));
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return index of the ISBN or {@code -(insertion point) - 1} like {@link Arrays#binarySearch(long[], long)}
+   */
+  public int indexOf(final long isbn) {
+    if (ISBN.MIN_VALUE > isbn)
+      return -1;
+    if (ISBN.MAX_VALUE < isbn)
+      return -size - 1;
+
+    int code = ISBNCodec.code(isbn);
+    int index = search(code);
+    if (0 > index || ISBN.isValidValue(isbn))
+      return index;
+
+    // Same body, wrong check digit
+    return (ISBNCodec.value(code) < isbn ? -index - 2 : -index - 1);
+  }
+
+  /**
+   * Look up ascending ISBNs in one pass. Each lookup searches only the rest
+   * of the index after the previous one, so the touched pages are read in order.
+   *
+   * @param isbns ISBN-13 numbers in ascending order
+   * @return {@code result[i]} is true if the index contains {@code isbns[i]}
+   * @throws IllegalArgumentException if the numbers are not in ascending order
+   */
+  public boolean[] containsAll(final long[] isbns) {
+    boolean[] result = new boolean[isbns.length];
+    int position = 0;
+    for (int i = 0; i < isbns.length; ++i) {
+      long isbn = isbns[i];
+      if (0 < i && isbns[i - 1] > isbn)
+        throw new IllegalArgumentException("Not in ascending order at " + i + ": " + isbn);
+
+      if (!ISBN.isValidValue(isbn))
+        continue;
+
+      int index = search(ISBNCodec.code(isbn), position);
+      result[i] = 0 <= index;
+      position = (0 <= index ? index : -index - 1);
+    }
+    return result;
+  }
+
+  /**
+   * Interpolation search, codes are close to uniform within registration groups
+   */
+  private int search(final int code) {
+    return search(code, 0);
+  }
+
+  private int search(final int code, final int from) {
+    int lo = from;
+    int hi = size - 1;
+    for (int step = 0; lo <= hi; ++step) {
+      int low = codes.get(lo);
+      int high = codes.get(hi);
+      if (code < low)
+        return -lo - 1;
+      if (code > high)
+        return -hi - 2;
+
+      int mid = (INTERPOLATION_STEPS > step && low != high
+          ? lo + (int) ((long) (code - low) * (hi - lo) / (high - low))
+          : (lo + hi) >>> 1);
+      int value = codes.get(mid);
+      if (value < code)
+        lo = mid + 1;
+      else if (value > code)
+        hi = mid - 1;
+      else
+        return mid;
+    }
+    return -lo - 1;
+  }
+
+  private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+    buffer.clear();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+
+/**
+ * ISBN parse result. Results for invalid input are shared instances,
+ * so an invalid input costs no more than a valid one.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNParseResult {
+
+  /**
+   * Parse status
+   */
+  public enum Status {
+    /**
+     * Well-formed ISBN with correct check digit
+     */
+    VALID,
+    /**
+     * Input is not well-formed
+     */
+    MALFORMED,
+    /**
+     * Input is well-formed, but its check digit is wrong
+     */
+    SUSPECT_CHECK_DIGIT
+  }
+
+  static final ISBNParseResult MALFORMED = new ISBNParseResult(Status.MALFORMED, false, '\0', null);
+
+  private static final ISBNParseResult[] SUSPECT_CHECK_DIGIT_13 = suspectCheckDigitResults(true);
+  private static final ISBNParseResult[] SUSPECT_CHECK_DIGIT_10 = suspectCheckDigitResults(false);
+
+  private final Status status;
+  private final boolean isbn13;
+  private final char checkDigit;
+  private final ISBN isbn;
+
+  private ISBNParseResult(final Status status, final boolean isbn13, final char checkDigit, final ISBN isbn) {
+    this.status = status;
+    this.isbn13 = isbn13;
+    this.checkDigit = checkDigit;
+    this.isbn = isbn;
+  }
+
+  /**
+   * @return status
+   */
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * @return true if status is {@link Status#VALID}
+   */
+  public boolean isValid() {
+    return Status.VALID == status;
+  }
+
+  /**
+   * @return true if input is well-formed ISBN-13
+   */
+  public boolean isIsbn13() {
+    return Status.MALFORMED != status && isbn13;
+  }
+
+  /**
+   * @return true if input is well-formed ISBN-10
+   */
+  public boolean isIsbn10() {
+    return Status.MALFORMED != status && !isbn13;
+  }
+
+  /**
+   * @return calculated check digit or {@code '\0'} if input is not well-formed
+   */
+  public char getCheckDigit() {
+    return checkDigit;
+  }
+
+  /**
+   * @return ISBN or null if status is not {@link Status#VALID}
+   */
+  public ISBN getIsbn() {
+    return isbn;
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s[status=%s,isbn=%s]", getClass().getName(), status, isbn);
+  }
+
+  static ISBNParseResult of(final long token) {
+    if (ISBNLexer.MALFORMED == token)
+      return MALFORMED;
+
+    int checkDigit = ISBNLexer.checkDigit(token);
+    if (checkDigit != ISBNLexer.inputCheckDigit(token))
+      return (ISBNLexer.isIsbn13(token) ? SUSPECT_CHECK_DIGIT_13 : SUSPECT_CHECK_DIGIT_10)[checkDigit];
+
+    return new ISBNParseResult(Status.VALID, ISBNLexer.isIsbn13(token), ISBNLexer.toChar(checkDigit),
+      new ISBN(ISBNLexer.isbn13(token)));
+  }
+
+  private static ISBNParseResult[] suspectCheckDigitResults(final boolean isbn13) {
+    ISBNParseResult[] results = new ISBNParseResult[11];
+    for (int i = 0; i < results.length; i++)
+      results[i] = new ISBNParseResult(Status.SUSPECT_CHECK_DIGIT, isbn13, ISBNLexer.toChar(i), null);
+    return results;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import com.github.ladutsko.isbn.impl.RangeTable;
+
+/**
+ * Elements of ISBN-13 found by the range lookup, see {@link ISBNFormat#parts(ISBN)}.
+ * Offsets are indexes in the normalized ISBN-13 string. If the registration
+ * group or the registrant is unknown its length is 0 and the publication
+ * element takes the rest of the digits.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNParts {
+
+  public static final int PREFIX_LENGTH = 3;
+  public static final int CHECK_DIGIT_OFFSET = 12;
+
+  private final ISBN isbn;
+  private final int groupLength;
+  private final int registrantLength;
+  private final String agency;
+
+  ISBNParts(final ISBN isbn, final int layout, final String agency) {
+    this.isbn = isbn;
+    this.groupLength = RangeTable.groupLength(layout);
+    this.registrantLength = RangeTable.registrantLength(layout);
+    this.agency = agency;
+  }
+
+  /**
+   * @return ISBN
+   */
+  public ISBN getIsbn() {
+    return isbn;
+  }
+
+  /**
+   * @return true if the registration group is known
+   */
+  public boolean isGroupFound() {
+    return 0 != groupLength;
+  }
+
+  /**
+   * @return true if the registrant range is known
+   */
+  public boolean isRegistrantFound() {
+    return 0 != registrantLength;
+  }
+
+  public int getGroupOffset() {
+    return PREFIX_LENGTH;
+  }
+
+  public int getGroupLength() {
+    return groupLength;
+  }
+
+  public int getRegistrantOffset() {
+    return PREFIX_LENGTH + groupLength;
+  }
+
+  public int getRegistrantLength() {
+    return registrantLength;
+  }
+
+  public int getPublicationOffset() {
+    return PREFIX_LENGTH + groupLength + registrantLength;
+  }
+
+  public int getPublicationLength() {
+    return CHECK_DIGIT_OFFSET - getPublicationOffset();
+  }
+
+  /**
+   * @return registration group agency, e.g. {@code English language}, or null if the group is unknown
+   */
+  public String getAgency() {
+    return agency;
+  }
+
+  /**
+   * @return EAN prefix, 978 or 979
+   */
+  public String getPrefix() {
+    return element(0, PREFIX_LENGTH);
+  }
+
+  /**
+   * @return registration group or empty string if it is unknown
+   */
+  public String getGroup() {
+    return element(getGroupOffset(), groupLength);
+  }
+
+  /**
+   * @return registrant or empty string if it is unknown
+   */
+  public String getRegistrant() {
+    return element(getRegistrantOffset(), registrantLength);
+  }
+
+  /**
+   * @return publication
+   */
+  public String getPublication() {
+    return element(getPublicationOffset(), getPublicationLength());
+  }
+
+  /**
+   * @return ISBN-13 check digit
+   */
+  public char getCheckDigit() {
+    return (char) ('0' + isbn.toLong() % 10);
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s[prefix=%s,group=%s,registrant=%s,publication=%s,checkDigit=%s,agency=%s]",
+        getClass().getName(), getPrefix(), getGroup(), getRegistrant(), getPublication(), getCheckDigit(), agency);
+  }
+
+  private String element(final int offset, final int length) {
+    long digits = isbn.toLong() / 10;
+    for (int i = offset + length; i < CHECK_DIGIT_OFFSET; ++i)
+      digits /= 10;
+
+    char[] chars = new char[length];
+    for (int i = length - 1; i >= 0; --i, digits /= 10)
+      chars[i] = (char) ('0' + digits % 10);
+    return new String(chars);
+  }
+}
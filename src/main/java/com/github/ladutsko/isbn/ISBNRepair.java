@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.RangeTable;
+
+/**
+ * Lists valid ISBNs within one substitution or one adjacent transposition of
+ * an input rejected for its check digit. Candidates are solved from the
+ * check digit equation rather than searched: the weighted sum of the input is
+ * off by {@code s}, a substitution at a position is fixed by the only digit
+ * which cancels {@code s} and a transposition of digits {@code a} and
+ * {@code b} changes the sum by {@code (b - a)} times the weight difference,
+ * so each position and each pair is tested once.
+ *
+ * <p>Only well-formed inputs with 10 or 13 digits are repaired, the check
+ * digit may be the error. Valid input has no candidates. The prefix of 13
+ * digits is trusted: an input which does not start with 978 or 979 is
+ * malformed, while edits between the two prefixes are candidates. Candidates
+ * are ISBN-13 numbers in the order of the edited position, substitutions
+ * first. Instances are thread safe.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNRepair {
+
+  /**
+   * Upper bound of candidates of one input: 13 substitutions and 12 transpositions
+   */
+  public static final int MAX_CANDIDATES = 25;
+
+  private static final long[] NONE = new long[0];
+  private static final long P12 = 1000000000000L;
+  private static final long P8 = 100000000L;
+  private static final long ISBN10_BODIES = 1000000000L;
+
+  // Inverses modulo 11 of ISBN-10 weights, index is the weight
+  private static final int[] INVERSE11 = {0, 1, 6, 4, 3, 9, 2, 8, 7, 5, 10};
+
+  private volatile boolean assignedOnly;
+
+  /**
+   * @return true if candidates outside assigned registrant ranges are dropped
+   */
+  public boolean isAssignedOnly() {
+    return assignedOnly;
+  }
+
+  /**
+   * @param assignedOnly true to drop candidates outside assigned registrant
+   *                     ranges of the current range table, false by default
+   */
+  public void setAssignedOnly(final boolean assignedOnly) {
+    this.assignedOnly = assignedOnly;
+  }
+
+  /**
+   * @param input ISBN string
+   * @return candidates, empty if the input is malformed or nothing is within one edit
+   */
+  public List<ISBN> repair(final CharSequence input) {
+    long[] candidates = new long[MAX_CANDIDATES];
+    int count = repair(input, candidates, 0);
+    if (0 == count)
+      return Collections.emptyList();
+
+    List<ISBN> result = new ArrayList<ISBN>(count);
+    for (int i = 0; i < count; ++i)
+      result.add(new ISBN(candidates[i]));
+    return result;
+  }
+
+  /**
+   * Allocation free form of {@link #repair(CharSequence)}
+   *
+   * @param input ISBN string
+   * @param candidates receiver of ISBN-13 numbers with room for {@link #MAX_CANDIDATES} from the offset
+   * @param offset first index to write
+   * @return number of candidates written
+   */
+  public int repair(final CharSequence input, final long[] candidates, final int offset) {
+    if (null == input)
+      throw new IllegalArgumentException("Input is null");
+    if (0 > offset || candidates.length - offset < MAX_CANDIDATES)
+      throw new IllegalArgumentException("No room for " + MAX_CANDIDATES + " candidates at " + offset);
+
+    long token = ISBNLexer.scan(input, true);
+    if (ISBNLexer.MALFORMED == token)
+      return 0;
+
+    RangeTable rangeTable = (assignedOnly ? ISBNFormat.getRangeTable() : null);
+    if (ISBNLexer.isIsbn13(token))
+      return repair13(token, rangeTable, candidates, offset);
+
+    return repair10(token, rangeTable, candidates, offset);
+  }
+
+  /**
+   * @param inputs ISBN strings
+   * @return candidates of each input as ISBN-13 numbers
+   */
+  public long[][] repairAll(final List<? extends CharSequence> inputs) {
+    long[] candidates = new long[MAX_CANDIDATES];
+    long[][] result = new long[inputs.size()][];
+    int i = 0;
+    for (CharSequence input : inputs) {
+      int count = repair(input, candidates, 0);
+      result[i++] = (0 == count ? NONE : Arrays.copyOf(candidates, count));
+    }
+    return result;
+  }
+
+  // Weights are 1 and 3 from the left, the sum of all 13 digits is 0 modulo 10
+  private static int repair13(final long token, final RangeTable rangeTable, final long[] out, final int offset) {
+    final long value = ISBNLexer.body(token) * 10 + ISBNLexer.inputCheckDigit(token);
+    final int s = (ISBNLexer.inputCheckDigit(token) - ISBNLexer.checkDigit(token) + 10) % 10;
+    // Valid input is not a reject, although swapping digits 5 apart keeps it valid
+    if (0 == s)
+      return 0;
+
+    int n = offset;
+
+    long p = P12;
+    for (int i = 0; i < 13; ++i, p /= 10) {
+      int d = (int) (value / p % 10);
+      // 7 is the inverse of 3 modulo 10
+      int r = (d + 10 * 7 - s * (0 == (i & 1) ? 1 : 7)) % 10;
+      if (r != d)
+        n = add(value + (r - d) * p, rangeTable, out, n);
+    }
+
+    p = P12;
+    for (int i = 0; i < 12; ++i, p /= 10) {
+      int a = (int) (value / p % 10);
+      int b = (int) (value / (p / 10) % 10);
+      if (a != b && 0 == (s + (0 == (i & 1) ? -2 : 2) * (b - a) + 100) % 10)
+        n = add(value + (b - a) * p + (a - b) * (p / 10), rangeTable, out, n);
+    }
+
+    return n - offset;
+  }
+
+  // Weights are 10 down to 1, the sum of all 10 digits is 0 modulo 11
+  private static int repair10(final long token, final RangeTable rangeTable, final long[] out, final int offset) {
+    final long digits = ISBNLexer.body(token) % ISBN10_BODIES;
+    final int check = ISBNLexer.inputCheckDigit(token);
+    final int s = (check - ISBNLexer.checkDigit(token) + 11) % 11;
+    if (0 == s)
+      return 0;
+
+    int n = offset;
+
+    long p = P8;
+    for (int i = 0; i < 9; ++i, p /= 10) {
+      int d = (int) (digits / p % 10);
+      int r = (d + 11 * 10 - s * INVERSE11[10 - i]) % 11;
+      if (r != d && 10 != r)
+        n = add10(digits + (r - d) * p, rangeTable, out, n);
+    }
+    n = add10(digits, rangeTable, out, n);
+
+    p = P8;
+    for (int i = 0; i < 8; ++i, p /= 10) {
+      int a = (int) (digits / p % 10);
+      int b = (int) (digits / (p / 10) % 10);
+      if (a != b && 0 == (s + b - a + 11) % 11)
+        n = add10(digits + (b - a) * p + (a - b) * (p / 10), rangeTable, out, n);
+    }
+    // The last body digit and the check digit, X can not move into the body
+    int a = (int) (digits % 10);
+    if (10 != check && a != check && 0 == (s + check - a + 11) % 11)
+      n = add10(digits + check - a, rangeTable, out, n);
+
+    return n - offset;
+  }
+
+  private static int add10(final long digits, final RangeTable rangeTable, final long[] out, final int n) {
+    return add(ISBNCodec.value((int) digits), rangeTable, out, n);
+  }
+
+  private static int add(final long value, final RangeTable rangeTable, final long[] out, final int n) {
+    // Check digit is correct by construction, a prefix edit may leave 978 and 979
+    if (ISBN.MIN_VALUE > value || ISBN.MAX_VALUE < value)
+      return n;
+
+    if (null != rangeTable) {
+      int layout = rangeTable.lookup(value / 10);
+      if (RangeTable.NOT_FOUND == layout || 0 == RangeTable.registrantLength(layout))
+        return n;
+    }
+
+    out[n] = value;
+    return n + 1;
+  }
+}
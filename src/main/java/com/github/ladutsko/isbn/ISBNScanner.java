@@ -0,0 +1,235 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+
+/**
+ * Finds valid ISBNs in a text read from a {@link Reader} or a channel.
+ * Candidates are the same as {@link ISBN#PATTERN} finds, except that a
+ * candidate may not be longer than {@link #MAX_CANDIDATE_LENGTH} characters,
+ * and those with a wrong check digit are skipped. Only a fixed size buffer
+ * is kept in memory, candidates may span reads.
+ *
+ * <pre>
+ * ISBNScanner scanner = new ISBNScanner(reader);
+ * while (scanner.find())
+ *   System.out.println(scanner.start() + ": " + scanner.getIsbn());
+ * </pre>
+ *
+ * <p>Not thread safe.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNScanner implements Closeable {
+
+  public static final int MAX_CANDIDATE_LENGTH = 128;
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Candidate, the character after it and the rest of a surrogate pair
+   */
+  private static final int LOOKAHEAD = MAX_CANDIDATE_LENGTH + 2;
+  /**
+   * A code point before the candidate
+   */
+  private static final int LOOKBEHIND = 2;
+
+  private final Reader reader;
+  private final char[] buffer;
+  private final CharBuffer chars;
+  private int position;
+  private int limit;
+  private boolean eof;
+  /**
+   * Offset of the first buffer character in the text
+   */
+  private long offset;
+
+  private long token;
+  private ISBN isbn;
+  private long start = -1;
+  private long end = -1;
+
+  public ISBNScanner(final Reader reader) {
+    this(reader, DEFAULT_BUFFER_SIZE);
+  }
+
+  public ISBNScanner(final Reader reader, final int bufferSize) {
+    if (null == reader || 2 * LOOKAHEAD > bufferSize)
+      throw new IllegalArgumentException("reader = " + reader + ", bufferSize = " + bufferSize);
+
+    this.reader = reader;
+    this.buffer = new char[bufferSize];
+    this.chars = CharBuffer.wrap(buffer);
+  }
+
+  public ISBNScanner(final ReadableByteChannel channel, final Charset charset) {
+    this(Channels.newReader(channel, charset.newDecoder(), -1));
+  }
+
+  /**
+   * Find the next valid ISBN
+   *
+   * @return true if found
+   * @throws IOException if read fails
+   */
+  public boolean find() throws IOException {
+    isbn = null;
+    start = end = -1;
+
+    for (;;) {
+      if (LOOKAHEAD > limit - position && !eof)
+        fill();
+      if (position >= limit)
+        return false;
+
+      char ch = buffer[position];
+      if ('0' <= ch && '9' >= ch && isBoundaryBefore(position)) {
+        long scanStart = Metrics.start();
+        int matchEnd = match(position);
+        if (0 < matchEnd) {
+          Metrics.parsed(token, scanStart);
+          int matchStart = position;
+          // The same as Matcher.find continues after the match
+          position = matchEnd;
+          if (ISBNLexer.isValid(token)) {
+            isbn = new ISBN(ISBNLexer.isbn13(token));
+            start = offset + matchStart;
+            end = offset + matchEnd;
+            return true;
+          }
+          continue;
+        }
+      }
+      ++position;
+    }
+  }
+
+  /**
+   * @return ISBN found by the last {@link #find()} or null
+   */
+  public ISBN getIsbn() {
+    return isbn;
+  }
+
+  /**
+   * @return offset in characters of the found ISBN or -1
+   */
+  public long start() {
+    return start;
+  }
+
+  /**
+   * @return offset in characters after the found ISBN or -1
+   */
+  public long end() {
+    return end;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * Match ISBN-13 and then ISBN-10 at the position like {@link ISBN#PATTERN} does
+   *
+   * @return end of the candidate or -1, token of the candidate is stored in {@link #token}
+   */
+  private int match(final int from) {
+    int bound = Math.min(limit, from + MAX_CANDIDATE_LENGTH);
+    int count = 0;
+    int end10 = -1;
+    int end13 = -1;
+    for (int i = from; i < bound; ++i) {
+      char ch = buffer[i];
+      if ('0' <= ch && '9' >= ch) {
+        if (10 == ++count) {
+          end10 = i + 1;
+        } else if (13 == count) {
+          end13 = i + 1;
+          break;
+        }
+      } else if ('X' == ch || 'x' == ch) {
+        if (9 == count)
+          end10 = i + 1;
+        break;
+      }
+    }
+
+    if (0 < end13 && isBoundaryAfter(end13)) {
+      token = ISBNLexer.scan(chars, from, end13, true);
+      if (ISBNLexer.MALFORMED != token && ISBNLexer.isIsbn13(token))
+        return end13;
+    }
+
+    if (0 < end10 && isBoundaryAfter(end10)) {
+      token = ISBNLexer.scan(chars, from, end10, true);
+      if (ISBNLexer.MALFORMED != token && !ISBNLexer.isIsbn13(token))
+        return end10;
+    }
+
+    return -1;
+  }
+
+  private boolean isBoundaryBefore(final int index) {
+    return 0 == index || !ISBNLexer.isWord(Character.codePointBefore(buffer, index, 0));
+  }
+
+  private boolean isBoundaryAfter(final int index) {
+    return limit == index || !ISBNLexer.isWord(Character.codePointAt(buffer, index, limit));
+  }
+
+  /**
+   * Keep a code point before the position and read at least the lookahead
+   */
+  private void fill() throws IOException {
+    int keep = Math.max(0, position - LOOKBEHIND);
+    if (0 < keep) {
+      System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+      offset += keep;
+      position -= keep;
+      limit -= keep;
+    }
+
+    do {
+      int n = reader.read(buffer, limit, buffer.length - limit);
+      if (-1 == n) {
+        eof = true;
+        return;
+      }
+      limit += n;
+    } while (LOOKAHEAD > limit - position);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Slots of a 2-way set associative cache of immutable entries, shared by
+ * {@link ISBNCache} and the format cache of {@link ISBNFormat}. A key maps to
+ * a set of two adjacent slots: the most recently inserted or hit entry takes
+ * the first one and the other entry is evicted on insert. Updates are lazy,
+ * racing updates may drop an entry or create a duplicate, so callers check
+ * the whole entry on lookup.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+final class TwoWaySlots<E> {
+
+  static final int WAYS = 2;
+
+  private final AtomicReferenceArray<E> slots;
+  private final int setMask;
+
+  /**
+   * @param capacity maximum number of entries, rounded up to a power of two and at least {@link #WAYS}
+   */
+  TwoWaySlots(final int capacity) {
+    int length = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+    this.slots = new AtomicReferenceArray<E>(length);
+    this.setMask = length / WAYS - 1;
+  }
+
+  /**
+   * @return number of slots
+   */
+  int capacity() {
+    return slots.length();
+  }
+
+  /**
+   * @param key key
+   * @return index of the first slot of the set of the key, the second one follows it
+   */
+  int set(final long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return ((int) (h >>> 32) & setMask) * WAYS;
+  }
+
+  /**
+   * @param slot slot index
+   * @return entry or null
+   */
+  E get(final int slot) {
+    return slots.get(slot);
+  }
+
+  /**
+   * Move the hit entry of the second slot to the first one, the entry of
+   * the first slot is the next to evict
+   *
+   * @param set index returned by {@link #set(long)}
+   * @param first entry read from the first slot
+   * @param second entry read from the second slot
+   */
+  void promote(final int set, final E first, final E second) {
+    slots.lazySet(set + 1, first);
+    slots.lazySet(set, second);
+  }
+
+  /**
+   * Insert entry into the first slot and evict the entry of the second one
+   *
+   * @param set index returned by {@link #set(long)}
+   * @param entry entry
+   */
+  void insert(final int set, final E entry) {
+    slots.lazySet(set + 1, slots.get(set));
+    slots.lazySet(set, entry);
+  }
+
+  void clear() {
+    for (int i = 0; i < slots.length(); ++i)
+      slots.set(i, null);
+  }
+}
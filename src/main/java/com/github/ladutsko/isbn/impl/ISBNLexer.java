@@ -0,0 +1,351 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import java.nio.ByteBuffer;
+
+import com.github.ladutsko.isbn.ISBNParseResult;
+
+/**
+ * Single pass ISBN lexer. Accepts exactly the same input as {@code ISBN.PATTERN}
+ * (or the same pattern with an optional check digit) matched against the whole
+ * input, and calculates check digits on the fly. Nothing is allocated. Word
+ * boundaries follow {@link #isWord(int)}, so they differ from the pattern on
+ * JDK 19+ next to non-ASCII letters and digits.
+ *
+ * <p>The scan result is packed into a {@code long} token:
+ * <ul>
+ *   <li>bits 0-39 - first 12 digits of ISBN-13 ({@code 978} prefixed for ISBN-10 input)</li>
+ *   <li>bits 40-43 - calculated ISBN-13 check digit</li>
+ *   <li>bits 44-47 - calculated ISBN-10 check digit (10 stands for {@code X}), ISBN-10 input only</li>
+ *   <li>bits 48-51 - check digit of the input or 15 if it is absent</li>
+ *   <li>bit 52 - set for ISBN-13 input</li>
+ * </ul>
+ * or is {@link #MALFORMED} if the input is not well-formed.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class ISBNLexer {
+
+  public static final long MALFORMED = -1L;
+
+  private static final long BODY_MASK = (1L << 40) - 1;
+  private static final int CHECK_DIGIT_13_SHIFT = 40;
+  private static final int CHECK_DIGIT_10_SHIFT = 44;
+  private static final int INPUT_CHECK_DIGIT_SHIFT = 48;
+  private static final long ISBN13_FLAG = 1L << 52;
+  private static final int NO_CHECK_DIGIT = 15;
+
+  private static final long DEFAULT_PREFIX = 978000000000L;
+  private static final int DEFAULT_PREFIX_SUM = 9 + 3 * 7 + 8;
+
+  private static final int AFTER_DIGIT = 0;
+  private static final int IN_WHITESPACE = 1;
+  private static final int AFTER_SEPARATOR = 2;
+
+  private ISBNLexer() {
+  }
+
+  /**
+   * Scan the whole input
+   *
+   * @param input character sequence which contains ISBN
+   * @param checkDigitRequired false if the check digit may be absent
+   * @return token or {@link #MALFORMED}
+   */
+  public static long scan(final CharSequence input, final boolean checkDigitRequired) {
+    return scan(input, 0, input.length(), checkDigitRequired);
+  }
+
+  /**
+   * Scan the region of the input
+   *
+   * @param input character sequence which contains ISBN
+   * @param start the index to start scanning at, inclusive
+   * @param end the index to stop scanning at, exclusive
+   * @param checkDigitRequired false if the check digit may be absent
+   * @return token or {@link #MALFORMED}
+   */
+  public static long scan(final CharSequence input, final int start, final int end, final boolean checkDigitRequired) {
+    return scan(input, null, null, start, end, checkDigitRequired);
+  }
+
+  /**
+   * Scan the region of UTF-8 encoded input. A multi-byte character is a single
+   * separator, malformed UTF-8 byte is a separator which is not a word character.
+   *
+   * @param input bytes which contain ISBN, absolute indexes are used and the position is not changed
+   * @param start the index to start scanning at, inclusive
+   * @param end the index to stop scanning at, exclusive
+   * @param checkDigitRequired false if the check digit may be absent
+   * @return token or {@link #MALFORMED}
+   */
+  public static long scan(final ByteBuffer input, final int start, final int end, final boolean checkDigitRequired) {
+    if (input.hasArray())
+      return scan(input.array(), input.arrayOffset() + start, input.arrayOffset() + end, checkDigitRequired);
+
+    return scan(null, input, null, start, end, checkDigitRequired);
+  }
+
+  /**
+   * Scan the region of UTF-8 encoded input, see {@link #scan(ByteBuffer, int, int, boolean)}
+   *
+   * @param input bytes which contain ISBN
+   * @param start the index to start scanning at, inclusive
+   * @param end the index to stop scanning at, exclusive
+   * @param checkDigitRequired false if the check digit may be absent
+   * @return token or {@link #MALFORMED}
+   */
+  public static long scan(final byte[] input, final int start, final int end, final boolean checkDigitRequired) {
+    return scan(null, null, input, start, end, checkDigitRequired);
+  }
+
+  /**
+   * The state machine for exactly one non-null input, only {@link #at} and
+   * {@link #separator} depend on the kind of the input
+   */
+  private static long scan(final CharSequence chars, final ByteBuffer buffer, final byte[] bytes,
+                           final int start, final int end, final boolean checkDigitRequired) {
+    if (9 > end - start)
+      return MALFORMED;
+
+    final boolean ean = '9' == at(chars, buffer, bytes, start) && '7' == at(chars, buffer, bytes, start + 1)
+      && ('8' == at(chars, buffer, bytes, start + 2) || '9' == at(chars, buffer, bytes, start + 2));
+    final int maxCount = (ean ? 13 : 10);
+
+    long digits = 0;
+    int count = 0;
+    int sum13 = 0;
+    int sum13Shifted = 0;
+    int sum10 = 0;
+    int state = AFTER_DIGIT;
+    boolean word = true;
+    boolean x = false;
+
+    for (int i = start; i < end; ++i) {
+      final int ch = at(chars, buffer, bytes, i);
+      if ('0' <= ch && '9' >= ch) {
+        if (maxCount == count)
+          return MALFORMED;
+
+        final int d = ch - '0';
+        if (12 > count)
+          sum13 += ((count & 1) == 0 ? d : 3 * d);
+        if (9 > count) {
+          sum13Shifted += ((count & 1) == 0 ? 3 * d : d);
+          sum10 += (count + 1) * d;
+        }
+        digits = digits * 10 + d;
+        ++count;
+        state = AFTER_DIGIT;
+        word = true;
+      } else if ('X' == ch || 'x' == ch) {
+        // X is allowed as the last character of ISBN-10 only
+        if (9 != count || end - 1 != i)
+          return MALFORMED;
+
+        x = true;
+        ++count;
+        state = AFTER_DIGIT;
+        word = true;
+      } else if (0 == count) {
+        return MALFORMED;
+      } else if (isWhitespace(ch)) {
+        if (AFTER_DIGIT == state)
+          state = IN_WHITESPACE;
+        word = false;
+      } else {
+        // At most one separator between digits
+        if (AFTER_SEPARATOR == state)
+          return MALFORMED;
+
+        state = AFTER_SEPARATOR;
+        int codePoint = ch;
+        if (null != chars ? Character.isHighSurrogate((char) ch) : 0 > ch) {
+          final long separator = separator(chars, buffer, bytes, ch, i, end);
+          i += (int) (separator >>> 32) - 1;
+          codePoint = (int) separator;
+        }
+        word = 0 <= codePoint && isWord(codePoint);
+      }
+    }
+
+    if (AFTER_DIGIT != state) {
+      // Only ISBN-10 without check digit may end with a separator which is a word character
+      if (checkDigitRequired || 9 != count || !word)
+        return MALFORMED;
+    }
+
+    return token(ean, x, count, digits, sum13, sum13Shifted, sum10, checkDigitRequired);
+  }
+
+  /**
+   * @return char of the sequence or signed byte
+   */
+  private static int at(final CharSequence chars, final ByteBuffer buffer, final byte[] bytes, final int i) {
+    if (null != bytes)
+      return bytes[i];
+
+    return (null != chars ? chars.charAt(i) : buffer.get(i));
+  }
+
+  /**
+   * Decode the separator which starts with a high surrogate or a non-ASCII byte
+   * at the index. A surrogate pair or a multi-byte UTF-8 character is a single
+   * separator.
+   *
+   * @return length in chars or bytes in the high half, code point or -1 if it is malformed in the low half
+   */
+  private static long separator(final CharSequence chars, final ByteBuffer buffer, final byte[] bytes,
+                                final int ch, final int i, final int end) {
+    if (null != chars) {
+      if (i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1)))
+        return 2L << 32 | Character.toCodePoint((char) ch, chars.charAt(i + 1));
+      return 1L << 32 | ch;
+    }
+
+    // Lead byte defines the length of the character
+    final int charLength = (0xC0 == (ch & 0xE0) ? 2 : 0xE0 == (ch & 0xF0) ? 3 : 0xF0 == (ch & 0xF8) ? 4 : 1);
+    int codePoint = (1 == charLength ? -1 : ch & (0x7F >> charLength));
+    int length = 1;
+    for (int k = 1; k < charLength && 0 <= codePoint; ++k) {
+      final int c = (i + k < end ? at(chars, buffer, bytes, i + k) : 0);
+      if (0x80 != (c & 0xC0)) {
+        codePoint = -1;
+      } else {
+        codePoint = codePoint << 6 | c & 0x3F;
+        ++length;
+      }
+    }
+    return (long) length << 32 | codePoint & 0xFFFFFFFFL;
+  }
+
+  private static long token(final boolean ean, final boolean x, final int count, final long digits,
+                            final int sum13, final int sum13Shifted, final int sum10, final boolean checkDigitRequired) {
+    if (ean && !x && (13 == count || (!checkDigitRequired && 12 == count))) {
+      final long body = (13 == count ? digits / 10 : digits);
+      final int inputCheckDigit = (13 == count ? (int) (digits % 10) : NO_CHECK_DIGIT);
+      return body
+        | (long) ((10 - sum13 % 10) % 10) << CHECK_DIGIT_13_SHIFT
+        | (long) NO_CHECK_DIGIT << CHECK_DIGIT_10_SHIFT
+        | (long) inputCheckDigit << INPUT_CHECK_DIGIT_SHIFT
+        | ISBN13_FLAG;
+    }
+
+    if (10 == count || (!checkDigitRequired && 9 == count)) {
+      final long body = DEFAULT_PREFIX + (10 == count && !x ? digits / 10 : digits);
+      final int inputCheckDigit = (x ? 10 : (10 == count ? (int) (digits % 10) : NO_CHECK_DIGIT));
+      return body
+        | (long) ((10 - (DEFAULT_PREFIX_SUM + sum13Shifted) % 10) % 10) << CHECK_DIGIT_13_SHIFT
+        | (long) (sum10 % 11) << CHECK_DIGIT_10_SHIFT
+        | (long) inputCheckDigit << INPUT_CHECK_DIGIT_SHIFT;
+    }
+
+    return MALFORMED;
+  }
+
+  /**
+   * @param token token
+   * @return true if the input is ISBN-13, false if it is ISBN-10
+   */
+  public static boolean isIsbn13(final long token) {
+    return 0 != (token & ISBN13_FLAG);
+  }
+
+  /**
+   * @param token token
+   * @return true if the input is well-formed and its check digit is correct
+   */
+  public static boolean isValid(final long token) {
+    return MALFORMED != token && checkDigit(token) == inputCheckDigit(token);
+  }
+
+  /**
+   * @param token token
+   * @return parse status of the token
+   */
+  public static ISBNParseResult.Status status(final long token) {
+    if (MALFORMED == token)
+      return ISBNParseResult.Status.MALFORMED;
+
+    return isValid(token) ? ISBNParseResult.Status.VALID : ISBNParseResult.Status.SUSPECT_CHECK_DIGIT;
+  }
+
+  /**
+   * @param token token
+   * @return calculated check digit for the input form, 10 stands for {@code X}
+   */
+  public static int checkDigit(final long token) {
+    return (int) (token >>> (isIsbn13(token) ? CHECK_DIGIT_13_SHIFT : CHECK_DIGIT_10_SHIFT)) & 0xF;
+  }
+
+  /**
+   * @param token token
+   * @return check digit of the input, 10 stands for {@code X}, or -1 if it is absent
+   */
+  public static int inputCheckDigit(final long token) {
+    final int checkDigit = (int) (token >>> INPUT_CHECK_DIGIT_SHIFT) & 0xF;
+    return (NO_CHECK_DIGIT == checkDigit ? -1 : checkDigit);
+  }
+
+  /**
+   * @param token token
+   * @return first 12 digits of ISBN-13 as a number
+   */
+  public static long body(final long token) {
+    return token & BODY_MASK;
+  }
+
+  /**
+   * @param token token
+   * @return ISBN-13 as a number
+   */
+  public static long isbn13(final long token) {
+    return (token & BODY_MASK) * 10 + ((token >>> CHECK_DIGIT_13_SHIFT) & 0xF);
+  }
+
+  /**
+   * @param checkDigit check digit, 10 stands for {@code X}
+   * @return check digit character
+   */
+  public static char toChar(final int checkDigit) {
+    return (10 == checkDigit ? 'X' : (char) ('0' + checkDigit));
+  }
+
+  /**
+   * Same as {@code \s} of {@link java.util.regex.Pattern}
+   */
+  public static boolean isWhitespace(final int ch) {
+    return ' ' == ch || ('\t' <= ch && '\r' >= ch);
+  }
+
+  /**
+   * Letter, digit or underscore of any script. This is the word character of
+   * {@code \b} of {@link java.util.regex.Pattern} up to JDK 18, since JDK 19
+   * {@code \b} is ASCII only unless {@code UNICODE_CHARACTER_CLASS} is set.
+   */
+  public static boolean isWord(final int codePoint) {
+    return '_' == codePoint || Character.isLetterOrDigit(codePoint);
+  }
+}
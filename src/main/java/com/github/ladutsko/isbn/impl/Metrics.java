@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.ladutsko.isbn.spi.ISBNMetrics;
+
+/**
+ * Holder of {@link ISBNMetrics} implementation. {@link #ENABLED} is a
+ * constant for JIT, so without an implementation the calls fold away.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class Metrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+
+  public static final ISBNMetrics METRICS = load();
+  public static final boolean ENABLED = null != METRICS;
+
+  private Metrics() {
+  }
+
+  /**
+   * @return start time or 0 if metrics are disabled
+   */
+  public static long start() {
+    return (ENABLED ? System.nanoTime() : 0L);
+  }
+
+  /**
+   * @param token lexer token
+   * @param start start time
+   */
+  public static void parsed(final long token, final long start) {
+    if (ENABLED)
+      METRICS.parsed(ISBNLexer.status(token), System.nanoTime() - start);
+  }
+
+  /**
+   * @param success false if the input is not well-formed
+   * @param start start time
+   */
+  public static void formatted(final boolean success, final long start) {
+    if (ENABLED)
+      METRICS.formatted(success, System.nanoTime() - start);
+  }
+
+  /**
+   * @param source resource name or URL of the range message
+   * @param rangeTable loaded table
+   * @param start start time
+   */
+  public static void rangeTableLoaded(final String source, final RangeTable rangeTable, final long start) {
+    if (ENABLED)
+      METRICS.rangeTableLoaded(source, System.nanoTime() - start, rangeTable.getGroupCount(), rangeTable.getRuleCount());
+  }
+
+  private static ISBNMetrics load() {
+    if ("false".equals(System.getProperty(ISBNMetrics.ENABLED_PROPERTY))) {
+      LOGGER.debug("Metrics are disabled by {}", ISBNMetrics.ENABLED_PROPERTY);
+      return null;
+    }
+
+    try {
+      Iterator<ISBNMetrics> it = ServiceLoader.load(ISBNMetrics.class, Metrics.class.getClassLoader()).iterator();
+      if (!it.hasNext())
+        return null;
+
+      ISBNMetrics metrics = it.next();
+      LOGGER.debug("Metrics: {}", metrics.getClass().getName());
+      if (it.hasNext())
+        LOGGER.warn("Use {}, other ISBNMetrics implementations are ignored", metrics.getClass().getName());
+      return metrics;
+    } catch (ServiceConfigurationError e) {
+      LOGGER.error("Metrics are disabled: " + e.getMessage(), e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,446 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.ladutsko.isbn.impl.model.Group;
+import com.github.ladutsko.isbn.impl.model.ISBNRangeMessage;
+import com.github.ladutsko.isbn.impl.model.Rule;
+import com.github.ladutsko.isbn.util.RangeMessageException;
+
+/**
+ * Range message compiled into primitive arrays. Registration groups are found
+ * by walking a digit trie over EAN prefix and group digits, registrant ranges
+ * by binary search over 7 digits following the group.
+ *
+ * <p>Result of the lookup is packed into an {@code int} layout:
+ * <ul>
+ *   <li>bits 0-3 - registration group length</li>
+ *   <li>bits 4-7 - registrant length, 0 if the registrant is not in an assigned range</li>
+ *   <li>bit 8 - {@link #UNASSIGNED}, set if the group has ranges but none covers the registrant</li>
+ *   <li>bits 9-31 - group index + 1</li>
+ * </ul>
+ * or is {@link #NOT_FOUND}.
+ *
+ * <p>The table of the bundled range message is compiled at build time and
+ * stored as {@code RangeTable.bin}, see {@link #write(OutputStream)} and
+ * {@link #read(InputStream)}.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class RangeTable {
+
+  public static final int NOT_FOUND = 0;
+  /**
+   * Flag of the layout whose registrant is in an unassigned range of a known group
+   */
+  public static final int UNASSIGNED = 1 << 8;
+
+  /**
+   * "ISBT" followed by format version
+   */
+  private static final int MAGIC = 0x49534254;
+  private static final int VERSION = 2;
+
+  private static final int EAN_PREFIX_LENGTH = 3;
+  private static final int MAX_PREFIX_LENGTH = EAN_PREFIX_LENGTH + 7;
+  private static final int WINDOW_LENGTH = 7;
+  /**
+   * Digits of group, registrant and publication in ISBN-13 without check digit
+   */
+  private static final int NUMBER_LENGTH = 9;
+
+  private static final int[] POW10 = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000 };
+
+  /**
+   * node * 10 + digit: child node, -(group + 1) for a group or 0 if there is nothing
+   */
+  private final int[] trie;
+  private final String[] prefixes;
+  private final String[] agencies;
+  /**
+   * Rules of the group are in [ruleOffsets[group], ruleOffsets[group + 1])
+   */
+  private final int[] ruleOffsets;
+  private final int[] ruleStarts;
+  private final int[] ruleEnds;
+  private final int[] ruleLengths;
+
+  RangeTable(final int[] trie, final String[] prefixes, final String[] agencies,
+             final int[] ruleOffsets, final int[] ruleStarts, final int[] ruleEnds, final int[] ruleLengths) {
+    this.trie = trie;
+    this.prefixes = prefixes;
+    this.agencies = agencies;
+    this.ruleOffsets = ruleOffsets;
+    this.ruleStarts = ruleStarts;
+    this.ruleEnds = ruleEnds;
+    this.ruleLengths = ruleLengths;
+  }
+
+  /**
+   * Compile range message
+   *
+   * @param message range message
+   * @return range table
+   * @throws RangeMessageException if a registrant range does not fit ISBN
+   */
+  public static RangeTable compile(final ISBNRangeMessage message) throws RangeMessageException {
+    List<Group> groups = message.registrationGroups;
+    int groupCount = groups.size();
+
+    int ruleCount = 0;
+    for (Group group : groups)
+      ruleCount += group.rules.size();
+
+    int[] trie = new int[10 * 64];
+    int nodeCount = 1;
+    String[] prefixes = new String[groupCount];
+    String[] agencies = new String[groupCount];
+    int[] ruleOffsets = new int[groupCount + 1];
+    int[] ruleStarts = new int[ruleCount];
+    int[] ruleEnds = new int[ruleCount];
+    int[] ruleLengths = new int[ruleCount];
+
+    int r = 0;
+    for (int g = 0; g < groupCount; ++g) {
+      Group group = groups.get(g);
+      prefixes[g] = group.prefix;
+      agencies[g] = group.agency;
+
+      // Insert group into trie, the shortest prefix wins as it did with prefix map
+      String digits = group.prefix.replace("-", "");
+      int node = 0;
+      for (int i = 0; i < digits.length() && 0 <= node; ++i) {
+        int slot = node * 10 + digits.charAt(i) - '0';
+        if (digits.length() - 1 == i) {
+          trie[slot] = -(g + 1);
+        } else if (0 == trie[slot]) {
+          if (trie.length < (nodeCount + 1) * 10)
+            trie = Arrays.copyOf(trie, trie.length * 2);
+          trie[slot] = nodeCount++;
+        }
+        node = trie[slot];
+      }
+
+      ruleOffsets[g] = r;
+      for (Rule rule : group.rules) {
+        int length = Integer.parseInt(rule.length);
+        if (0 == length)
+          continue;
+        if (!isValidRule(digits.length() - EAN_PREFIX_LENGTH, length))
+          throw new RangeMessageException("Registrant length " + length + " does not fit group " + group.prefix);
+
+        String range = rule.range;
+        int p = range.indexOf('-');
+        int scale = POW10[WINDOW_LENGTH - length];
+        int start = Integer.parseInt(range.substring(0, length)) * scale;
+        int end = Integer.parseInt(range.substring(p + 1, p + 1 + length)) * scale + scale - 1;
+
+        // Keep rules sorted by start
+        int i = r++;
+        for (; ruleOffsets[g] < i && ruleStarts[i - 1] > start; --i) {
+          ruleStarts[i] = ruleStarts[i - 1];
+          ruleEnds[i] = ruleEnds[i - 1];
+          ruleLengths[i] = ruleLengths[i - 1];
+        }
+        ruleStarts[i] = start;
+        ruleEnds[i] = end;
+        ruleLengths[i] = length;
+      }
+    }
+    ruleOffsets[groupCount] = r;
+
+    return new RangeTable(Arrays.copyOf(trie, nodeCount * 10), prefixes, agencies, ruleOffsets,
+      Arrays.copyOf(ruleStarts, r), Arrays.copyOf(ruleEnds, r), Arrays.copyOf(ruleLengths, r));
+  }
+
+  /**
+   * Write table in binary form
+   *
+   * @param out output stream, it is not closed
+   * @throws IOException if something is wrong
+   */
+  public void write(final OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    writeInts(data, trie);
+    data.writeInt(prefixes.length);
+    for (int g = 0; g < prefixes.length; ++g) {
+      data.writeUTF(prefixes[g]);
+      // Presence flag keeps a missing agency apart from an empty one
+      data.writeBoolean(null != agencies[g]);
+      if (null != agencies[g])
+        data.writeUTF(agencies[g]);
+    }
+    writeInts(data, ruleOffsets);
+    writeInts(data, ruleStarts);
+    writeInts(data, ruleEnds);
+    writeInts(data, ruleLengths);
+    data.flush();
+  }
+
+  /**
+   * Read table written by {@link #write(OutputStream)}. The stream is read
+   * to the end with bulk reads.
+   *
+   * @param in input stream, it is not closed
+   * @return range table
+   * @throws IOException if something is wrong
+   */
+  public static RangeTable read(final InputStream in) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+    byte[] buffer = new byte[16 * 1024];
+    for (int n; -1 != (n = in.read(buffer)); )
+      bytes.write(buffer, 0, n);
+
+    DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    if (MAGIC != data.readInt())
+      throw new IOException("Not a range table");
+
+    int version = data.readInt();
+    if (VERSION != version)
+      throw new IOException("Unsupported range table version: " + version);
+
+    int[] trie = readInts(data);
+    int groupCount = data.readInt();
+    String[] prefixes = new String[groupCount];
+    String[] agencies = new String[groupCount];
+    for (int g = 0; g < groupCount; ++g) {
+      prefixes[g] = data.readUTF();
+      agencies[g] = (data.readBoolean() ? data.readUTF() : null);
+    }
+
+    int[] ruleOffsets = readInts(data);
+    int[] ruleStarts = readInts(data);
+    int[] ruleEnds = readInts(data);
+    int[] ruleLengths = readInts(data);
+    if (groupCount + 1 != ruleOffsets.length || ruleStarts.length != ruleLengths.length || ruleEnds.length != ruleLengths.length)
+      throw new IOException("Corrupted range table");
+
+    for (int g = 0; g < groupCount; ++g) {
+      int groupLength = prefixes[g].replace("-", "").length() - EAN_PREFIX_LENGTH;
+      for (int r = ruleOffsets[g]; r < ruleOffsets[g + 1]; ++r) {
+        if (!isValidRule(groupLength, ruleLengths[r]))
+          throw new IOException("Registrant length " + ruleLengths[r] + " does not fit group " + prefixes[g]);
+      }
+    }
+
+    return new RangeTable(trie, prefixes, agencies, ruleOffsets, ruleStarts, ruleEnds, ruleLengths);
+  }
+
+  private static boolean isValidRule(final int groupLength, final int registrantLength) {
+    return 0 < registrantLength && WINDOW_LENGTH >= registrantLength && NUMBER_LENGTH >= groupLength + registrantLength;
+  }
+
+  private static void writeInts(final DataOutputStream data, final int[] values) throws IOException {
+    data.writeInt(values.length);
+    for (int value : values)
+      data.writeInt(value);
+  }
+
+  private static int[] readInts(final DataInputStream data) throws IOException {
+    int[] values = new int[data.readInt()];
+    for (int i = 0; i < values.length; ++i)
+      values[i] = data.readInt();
+    return values;
+  }
+
+  /**
+   * Find registration group and registrant
+   *
+   * @param body first 12 digits of ISBN-13
+   * @return layout or {@link #NOT_FOUND}
+   */
+  public int lookup(final long body) {
+    long digits = toDigits(body);
+
+    int node = 0;
+    int p = 0;
+    int next;
+    do {
+      if (MAX_PREFIX_LENGTH == p)
+        return NOT_FOUND;
+
+      next = trie[node * 10 + digit(digits, p++)];
+      if (0 == next)
+        return NOT_FOUND;
+
+      node = next;
+    } while (0 < next);
+
+    int group = -next - 1;
+    int groupLength = p - EAN_PREFIX_LENGTH;
+    int from = ruleOffsets[group];
+    int to = ruleOffsets[group + 1];
+    if (from == to)
+      return groupLength | (group + 1) << 9;
+
+    int window = 0;
+    for (int i = 0; i < WINDOW_LENGTH; ++i, ++p)
+      window = window * 10 + (12 > p ? digit(digits, p) : 0);
+
+    // Last rule which starts at or before the window
+    int lo = from;
+    int hi = to - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      if (ruleStarts[mid] <= window)
+        lo = mid + 1;
+      else
+        hi = mid - 1;
+    }
+
+    // The group is known even if the registrant is in an unassigned range
+    if (from > hi || ruleEnds[hi] < window)
+      return groupLength | UNASSIGNED | (group + 1) << 9;
+
+    return groupLength | ruleLengths[hi] << 4 | (group + 1) << 9;
+  }
+
+  /**
+   * @param layout layout
+   * @return registration group length
+   */
+  public static int groupLength(final int layout) {
+    return layout & 0xF;
+  }
+
+  /**
+   * @param layout layout
+   * @return registrant length, 0 if the group has no assigned ranges
+   */
+  public static int registrantLength(final int layout) {
+    return (layout >>> 4) & 0xF;
+  }
+
+  /**
+   * @param layout layout
+   * @return true if the group has ranges but none covers the registrant
+   */
+  public static boolean isUnassigned(final int layout) {
+    return 0 != (layout & UNASSIGNED);
+  }
+
+  /**
+   * @param layout layout
+   * @return group index
+   */
+  public static int group(final int layout) {
+    return (layout >>> 9) - 1;
+  }
+
+  /**
+   * @param group group index
+   * @return group prefix, e.g. {@code 978-0}
+   */
+  public String getPrefix(final int group) {
+    return prefixes[group];
+  }
+
+  /**
+   * @param group group index
+   * @return group agency
+   */
+  public String getAgency(final int group) {
+    return agencies[group];
+  }
+
+  /**
+   * @return number of registration groups
+   */
+  public int getGroupCount() {
+    return prefixes.length;
+  }
+
+  /**
+   * @return number of assigned registrant ranges
+   */
+  public int getRuleCount() {
+    return ruleStarts.length;
+  }
+
+  /**
+   * @param group group index
+   * @return index of the first rule of the group, rules of the group end
+   *         where rules of the next group begin
+   */
+  public int getFirstRule(final int group) {
+    return ruleOffsets[group];
+  }
+
+  /**
+   * @param rule rule index
+   * @return registrant length
+   */
+  public int getRuleLength(final int rule) {
+    return ruleLengths[rule];
+  }
+
+  /**
+   * @param rule rule index
+   * @return first registrant of the rule
+   */
+  public int getRuleMin(final int rule) {
+    return ruleStarts[rule] / POW10[WINDOW_LENGTH - ruleLengths[rule]];
+  }
+
+  /**
+   * @param rule rule index
+   * @return last registrant of the rule
+   */
+  public int getRuleMax(final int rule) {
+    return ruleEnds[rule] / POW10[WINDOW_LENGTH - ruleLengths[rule]];
+  }
+
+  /**
+   * @param body first 12 digits of ISBN-13
+   * @return digits packed by 4 bits, the first digit is the highest
+   */
+  public static long toDigits(final long body) {
+    long value = body;
+    long digits = 0;
+    for (int i = 0; i < 12; ++i, value /= 10)
+      digits |= (value % 10) << (i << 2);
+    return digits;
+  }
+
+  /**
+   * @param digits digits returned by {@link #toDigits(long)}
+   * @param index digit index, from 0 to 11
+   * @return digit
+   */
+  public static int digit(final long digits, final int index) {
+    return (int) (digits >>> ((11 - index) << 2)) & 0xF;
+  }
+}
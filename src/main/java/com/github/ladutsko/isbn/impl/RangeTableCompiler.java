@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.github.ladutsko.isbn.util.RangeMessageLoader;
+
+/**
+ * Build time compiler of RangeMessage.xml into {@code RangeTable.bin}
+ *
+ * <p>Usage: {@code RangeTableCompiler <RangeMessage.xml> <RangeTable.bin>}
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class RangeTableCompiler {
+
+  private RangeTableCompiler() {
+  }
+
+  public static void main(final String[] args) throws Exception {
+    if (2 != args.length)
+      throw new IllegalArgumentException("Usage: RangeTableCompiler <RangeMessage.xml> <RangeTable.bin>");
+
+    RangeTable rangeTable = RangeTable.compile(new RangeMessageLoader().load(new File(args[0]).toURI().toString()));
+
+    File output = new File(args[1]);
+    File directory = output.getParentFile();
+    if (null != directory && !directory.isDirectory() && !directory.mkdirs())
+      throw new IOException("Can't create directory: " + directory);
+
+    OutputStream out = new FileOutputStream(output);
+    try {
+      rangeTable.write(out);
+    } finally {
+      out.close();
+    }
+  }
+}
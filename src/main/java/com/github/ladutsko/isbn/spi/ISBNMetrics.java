@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.spi;
+
+import com.github.ladutsko.isbn.ISBNParseResult;
+
+/**
+ * Metrics SPI. The first implementation found by {@link java.util.ServiceLoader}
+ * (listed in {@code META-INF/services/com.github.ladutsko.isbn.spi.ISBNMetrics})
+ * receives events of the whole library. Without one nothing is measured.
+ *
+ * <p>Methods are called from the calling threads and must be thread safe and cheap.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public interface ISBNMetrics {
+
+  /**
+   * System property, {@code false} disables metrics even if an implementation is present
+   */
+  String ENABLED_PROPERTY = "com.github.ladutsko.isbn.metrics";
+
+  /**
+   * ISBN was parsed
+   *
+   * @param status parse status, anything but {@link ISBNParseResult.Status#VALID} is a failure
+   * @param nanos elapsed time in nanoseconds
+   */
+  default void parsed(final ISBNParseResult.Status status, final long nanos) {
+  }
+
+  /**
+   * ISBN was formatted
+   *
+   * @param success false if the input is not well-formed
+   * @param nanos elapsed time in nanoseconds
+   */
+  default void formatted(final boolean success, final long nanos) {
+  }
+
+  /**
+   * Range table was loaded
+   *
+   * @param source resource name or URL of the range message
+   * @param nanos elapsed time in nanoseconds
+   * @param groupCount number of registration groups
+   * @param ruleCount number of registrant ranges
+   */
+  default void rangeTableLoaded(final String source, final long nanos, final int groupCount, final int ruleCount) {
+  }
+}
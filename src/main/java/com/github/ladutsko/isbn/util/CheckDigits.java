@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Bulk check digit validation and ISBN-10/ISBN-13 conversion of normalized
+ * ISBNs packed as fixed width ASCII records: 13 bytes per ISBN-13, 10 bytes
+ * per ISBN-10 ({@code X} or {@code x} is the check digit 10). Eight digits
+ * are checked and summed at once in a {@code long} (SWAR).
+ *
+ * <p>Results are bitmaps: bit {@code i % 64} of {@code long} {@code i / 64}
+ * is set if record {@code i} is a valid ISBN.
+ *
+ * <p>{@link #checkDigit13(long)} and {@link #checkDigit10(long)} are check
+ * digits of a single ISBN held as a number.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public final class CheckDigits {
+
+  public static final int ISBN13_LENGTH = 13;
+  public static final int ISBN10_LENGTH = 10;
+
+  private static final long ZEROS = 0x3030303030303030L;
+  private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+  private static final long SIXES = 0x0606060606060606L;
+  private static final long ONES = 0x0101010101010101L;
+  private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+  private static final long ODD_BYTES = 0xFF00FF00FF00FF00L;
+
+  private CheckDigits() {
+  }
+
+  /**
+   * Validate ISBN-13 records, a valid record has 978 or 979 prefix
+   *
+   * @param records ASCII records, 13 bytes each
+   * @param offset index of the first record
+   * @param count number of records
+   * @return validity bitmap
+   */
+  public static long[] validate13(final byte[] records, final int offset, final int count) {
+    checkRange(records, offset, count, ISBN13_LENGTH);
+    ByteBuffer buffer = littleEndian(records);
+    long[] bitmap = bitmap(count);
+    for (int i = 0, p = offset; i < count; ++i, p += ISBN13_LENGTH) {
+      if ('9' == records[p] && '7' == records[p + 1] && ('8' == records[p + 2] || '9' == records[p + 2])
+          && 0 == sum13(buffer, p) % 10)
+        bitmap[i >>> 6] |= 1L << i;
+    }
+    return bitmap;
+  }
+
+  /**
+   * Validate ISBN-10 records
+   *
+   * @param records ASCII records, 10 bytes each
+   * @param offset index of the first record
+   * @param count number of records
+   * @return validity bitmap
+   */
+  public static long[] validate10(final byte[] records, final int offset, final int count) {
+    checkRange(records, offset, count, ISBN10_LENGTH);
+    ByteBuffer buffer = littleEndian(records);
+    long[] bitmap = bitmap(count);
+    for (int i = 0, p = offset; i < count; ++i, p += ISBN10_LENGTH) {
+      int sum = sum10(buffer, p);
+      if (0 <= sum && sum % 11 == inputCheckDigit10(records[p + 9]))
+        bitmap[i >>> 6] |= 1L << i;
+    }
+    return bitmap;
+  }
+
+  /**
+   * Convert valid ISBN-10 records to ISBN-13 records, output records of invalid input are not written
+   *
+   * @param records ASCII records, 10 bytes each
+   * @param offset index of the first record
+   * @param count number of records
+   * @param out output, 13 bytes per record
+   * @param outOffset index of the first output record
+   * @return validity bitmap of the input
+   */
+  public static long[] toIsbn13(final byte[] records, final int offset, final int count, final byte[] out, final int outOffset) {
+    checkRange(records, offset, count, ISBN10_LENGTH);
+    checkRange(out, outOffset, count, ISBN13_LENGTH);
+    ByteBuffer buffer = littleEndian(records);
+    long[] bitmap = bitmap(count);
+    for (int i = 0, p = offset, q = outOffset; i < count; ++i, p += ISBN10_LENGTH, q += ISBN13_LENGTH) {
+      int sum = sum10(buffer, p);
+      if (0 > sum || sum % 11 != inputCheckDigit10(records[p + 9]))
+        continue;
+
+      bitmap[i >>> 6] |= 1L << i;
+      out[q] = '9';
+      out[q + 1] = '7';
+      out[q + 2] = '8';
+      System.arraycopy(records, p, out, q + 3, 9);
+      // Weights of ISBN-10 digits are shifted by the 3 digit prefix: 3, 1, 3, ...
+      long v = buffer.getLong(p) - ZEROS;
+      int sum13 = 9 + 3 * 7 + 8 + horizontalSum(v + ((v & EVEN_BYTES) << 1)) + 3 * (records[p + 8] - '0');
+      out[q + 12] = (byte) ('0' + (10 - sum13 % 10) % 10);
+    }
+    return bitmap;
+  }
+
+  /**
+   * Convert valid ISBN-13 records with 978 prefix to ISBN-10 records, other output records are not written
+   *
+   * @param records ASCII records, 13 bytes each
+   * @param offset index of the first record
+   * @param count number of records
+   * @param out output, 10 bytes per record
+   * @param outOffset index of the first output record
+   * @return bitmap of converted records
+   */
+  public static long[] toIsbn10(final byte[] records, final int offset, final int count, final byte[] out, final int outOffset) {
+    checkRange(records, offset, count, ISBN13_LENGTH);
+    checkRange(out, outOffset, count, ISBN10_LENGTH);
+    ByteBuffer buffer = littleEndian(records);
+    long[] bitmap = bitmap(count);
+    for (int i = 0, p = offset, q = outOffset; i < count; ++i, p += ISBN13_LENGTH, q += ISBN10_LENGTH) {
+      if ('9' != records[p] || '7' != records[p + 1] || '8' != records[p + 2] || 0 != sum13(buffer, p) % 10)
+        continue;
+
+      bitmap[i >>> 6] |= 1L << i;
+      System.arraycopy(records, p + 3, out, q, 9);
+      int checkDigit = sum10(buffer, p + 3) % 11;
+      out[q + 9] = (byte) (10 == checkDigit ? 'X' : '0' + checkDigit);
+    }
+    return bitmap;
+  }
+
+  /**
+   * @param bitmap validity bitmap
+   * @param index record index
+   * @return true if the record is valid
+   */
+  public static boolean isValid(final long[] bitmap, final int index) {
+    return 0 != (bitmap[index >>> 6] & 1L << index);
+  }
+
+  /**
+   * @param body first 12 digits of ISBN-13 as a number
+   * @return ISBN-13 check digit
+   */
+  public static int checkDigit13(final long body) {
+    long digits = body;
+    int sum = 0;
+    for (int i = 11; i >= 0; --i, digits /= 10)
+      sum += ((i & 1) == 0 ? 1 : 3) * (int) (digits % 10);
+    return (10 - sum % 10) % 10;
+  }
+
+  /**
+   * @param body first 12 digits of ISBN-13 as a number, ISBN-10 is its last 9 digits
+   * @return ISBN-10 check digit, 10 stands for {@code X}
+   */
+  public static int checkDigit10(final long body) {
+    long digits = body % 1000000000L;
+    int sum = 0;
+    for (int i = 9; i >= 1; --i, digits /= 10)
+      sum += i * (int) (digits % 10);
+    return sum % 11;
+  }
+
+  /**
+   * @return weighted sum of 13 digits or a negative value if a byte is not a digit
+   */
+  private static int sum13(final ByteBuffer buffer, final int p) {
+    long a = buffer.getLong(p);
+    // Overlapping load of digits 5-12, digits 8-12 are the low 5 lanes after the shift
+    long b = buffer.getLong(p + 5);
+    if (!isDigits(a) || !isDigits(b))
+      return -1;
+
+    long va = a - ZEROS;
+    long vb = (b - ZEROS) >>> 24;
+    return horizontalSum(va + ((va & ODD_BYTES) << 1)) + horizontalSum(vb + ((vb & ODD_BYTES) << 1));
+  }
+
+  /**
+   * @return sum of (i + 1) * digit of the first 9 digits or a negative value if a byte is not a digit
+   */
+  private static int sum10(final ByteBuffer buffer, final int p) {
+    long a = buffer.getLong(p);
+    int d8 = buffer.get(p + 8) - '0';
+    if (!isDigits(a) || 0 > d8 || 9 < d8)
+      return -1;
+
+    // Lane k of prefix is the sum of digits 0..k, the sum of prefixes weighs digit i by 8 - i
+    long prefix = (a - ZEROS) * ONES;
+    int sum = (int) (prefix >>> 56);
+    long pairs = (prefix & EVEN_BYTES) + ((prefix >>> 8) & EVEN_BYTES);
+    int sumOfPrefixes = (int) ((pairs * 0x0001000100010001L) >>> 48);
+    return 9 * sum - sumOfPrefixes + 9 * d8;
+  }
+
+  /**
+   * @return true if all bytes are ASCII digits
+   */
+  private static boolean isDigits(final long v) {
+    // Adding 6 carries into the high nibble of bytes above '9'
+    return ZEROS == (v & HIGH_NIBBLES) && ZEROS == ((v + SIXES) & HIGH_NIBBLES);
+  }
+
+  /**
+   * @return sum of bytes, the sum must be less than 256
+   */
+  private static int horizontalSum(final long v) {
+    return (int) ((v * ONES) >>> 56);
+  }
+
+  private static int inputCheckDigit10(final byte b) {
+    if ('X' == b || 'x' == b)
+      return 10;
+
+    return ('0' <= b && '9' >= b ? b - '0' : -1);
+  }
+
+  private static long[] bitmap(final int count) {
+    return new long[(count + 63) >>> 6];
+  }
+
+  private static ByteBuffer littleEndian(final byte[] records) {
+    return ByteBuffer.wrap(records).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static void checkRange(final byte[] records, final int offset, final int count, final int length) {
+    if (0 > offset || 0 > count || (records.length - offset) / length < count)
+      throw new IndexOutOfBoundsException("offset = " + offset + ", count = " + count + ", array length = " + records.length);
+  }
+}
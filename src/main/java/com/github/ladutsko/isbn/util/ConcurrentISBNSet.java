@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import java.util.function.LongConsumer;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * Thread safe {@link ISBNSet} for parallel ingestion. ISBNs are spread over
+ * independently locked stripes, so threads rarely contend.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ConcurrentISBNSet {
+
+  private final ISBNSet[] stripes;
+  private final int mask;
+
+  public ConcurrentISBNSet() {
+    this(ISBNSet.MIN_CAPACITY, 4 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param expectedSize number of ISBNs to hold without resize
+   * @param concurrency expected number of writing threads, rounded up to a power of two
+   */
+  public ConcurrentISBNSet(final int expectedSize, final int concurrency) {
+    if (0 > expectedSize)
+      throw new IllegalArgumentException("expectedSize = " + expectedSize);
+    if (0 >= concurrency || 1 << 16 < concurrency)
+      throw new IllegalArgumentException("concurrency = " + concurrency);
+
+    int count = (1 == concurrency ? 1 : Integer.highestOneBit(concurrency - 1) << 1);
+    this.stripes = new ISBNSet[count];
+    for (int i = 0; i < count; ++i)
+      stripes[i] = new ISBNSet(expectedSize / count);
+    this.mask = count - 1;
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the set did not contain the ISBN
+   */
+  public boolean add(final ISBN isbn) {
+    return add(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number, not 0
+   * @return true if the set did not contain the ISBN
+   */
+  public boolean add(final long isbn) {
+    ISBNSet stripe = stripe(isbn);
+    synchronized (stripe) {
+      return stripe.add(isbn);
+    }
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the set contains the ISBN
+   */
+  public boolean contains(final ISBN isbn) {
+    return contains(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the set contains the ISBN
+   */
+  public boolean contains(final long isbn) {
+    ISBNSet stripe = stripe(isbn);
+    synchronized (stripe) {
+      return stripe.contains(isbn);
+    }
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the set contained the ISBN
+   */
+  public boolean remove(final long isbn) {
+    ISBNSet stripe = stripe(isbn);
+    synchronized (stripe) {
+      return stripe.remove(isbn);
+    }
+  }
+
+  /**
+   * Not atomic, concurrent changes may be missed
+   *
+   * @return number of ISBNs
+   */
+  public int size() {
+    int size = 0;
+    for (ISBNSet stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Each stripe is locked while its ISBNs are passed to the action
+   *
+   * @param action called with each ISBN-13 as a number in no particular order
+   */
+  public void forEach(final LongConsumer action) {
+    for (ISBNSet stripe : stripes) {
+      synchronized (stripe) {
+        stripe.forEach(action);
+      }
+    }
+  }
+
+  /**
+   * Copy into a single threaded set, for example after ingestion
+   *
+   * @return new set
+   */
+  public ISBNSet toSet() {
+    ISBNSet set = new ISBNSet(size());
+    forEach(set::add);
+    return set;
+  }
+
+  private ISBNSet stripe(final long isbn) {
+    // Another multiplier than ISBNSet uses, otherwise a stripe holds keys
+    // with the same slot bits and its table clusters
+    return stripes[(int) ((isbn * 0xC2B2AE3D27D4EB4FL) >>> 32) & mask];
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static com.github.ladutsko.isbn.util.ISBNSet.capacity;
+import static com.github.ladutsko.isbn.util.ISBNSet.checkKey;
+import static com.github.ladutsko.isbn.util.ISBNSet.index;
+
+import java.util.Arrays;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * Map from ISBN keyed by {@link ISBN#toLong()} to {@code long} (counts, ids,
+ * offsets). Open addressing with linear probing in parallel {@code long[]}
+ * arrays, key 0 marks an empty slot. A slot takes 16 bytes and the table is
+ * 3/8 to 3/4 full, so about 21 to 43 bytes per entry.
+ *
+ * <p>Keys are not checked to be valid ISBNs and nothing depends on it: any
+ * key except 0 is accepted and the hash mixes all 64 bits, so other packed
+ * numbers may be used as keys as well.
+ *
+ * <p>Not thread safe.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNLongMap {
+
+  /**
+   * Receiver of map entries
+   */
+  @FunctionalInterface
+  public interface EntryConsumer {
+
+    /**
+     * @param isbn ISBN-13 as a number
+     * @param value value
+     */
+    void accept(long isbn, long value);
+  }
+
+  private long[] keys;
+  private long[] values;
+  private int size;
+  private int resizeThreshold;
+  private int shift;
+
+  public ISBNLongMap() {
+    this(ISBNSet.MIN_CAPACITY);
+  }
+
+  /**
+   * @param expectedSize number of ISBNs to hold without resize
+   */
+  public ISBNLongMap(final int expectedSize) {
+    if (0 > expectedSize)
+      throw new IllegalArgumentException("expectedSize = " + expectedSize);
+
+    allocate(capacity(expectedSize));
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @param defaultValue value if the map does not contain the ISBN
+   * @return value
+   */
+  public long get(final long isbn, final long defaultValue) {
+    int i = find(isbn);
+    return (0 > i ? defaultValue : values[i]);
+  }
+
+  /**
+   * @param isbn ISBN
+   * @param defaultValue value if the map does not contain the ISBN
+   * @return value
+   */
+  public long get(final ISBN isbn, final long defaultValue) {
+    return get(isbn.toLong(), defaultValue);
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the map contains the ISBN
+   */
+  public boolean containsKey(final long isbn) {
+    return 0 <= find(isbn);
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number, not 0
+   * @param value value
+   * @param defaultValue returned if the map did not contain the ISBN
+   * @return previous value or defaultValue
+   */
+  public long put(final long isbn, final long value, final long defaultValue) {
+    int i = insert(isbn);
+    if (0 > i) {
+      values[~i] = value;
+      grow();
+      return defaultValue;
+    }
+
+    long previous = values[i];
+    values[i] = value;
+    return previous;
+  }
+
+  /**
+   * @param isbn ISBN
+   * @param value value
+   * @param defaultValue returned if the map did not contain the ISBN
+   * @return previous value or defaultValue
+   */
+  public long put(final ISBN isbn, final long value, final long defaultValue) {
+    return put(isbn.toLong(), value, defaultValue);
+  }
+
+  /**
+   * Add delta to the value, a missing value is 0
+   *
+   * @param isbn ISBN-13 as a number, not 0
+   * @param delta delta
+   * @return new value
+   */
+  public long addTo(final long isbn, final long delta) {
+    int i = insert(isbn);
+    if (0 > i) {
+      values[~i] = delta;
+      grow();
+      return delta;
+    }
+
+    return values[i] += delta;
+  }
+
+  /**
+   * @param isbn ISBN
+   * @param delta delta
+   * @return new value
+   */
+  public long addTo(final ISBN isbn, final long delta) {
+    return addTo(isbn.toLong(), delta);
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @param defaultValue returned if the map did not contain the ISBN
+   * @return removed value or defaultValue
+   */
+  public long remove(final long isbn, final long defaultValue) {
+    int i = find(isbn);
+    if (0 > i)
+      return defaultValue;
+
+    long removed = values[i];
+    long[] keys = this.keys;
+    long[] values = this.values;
+    int mask = keys.length - 1;
+    // Shift back the following entries of the probe sequence, no tombstones
+    for (int gap = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+      long next = keys[j];
+      if (0L == next) {
+        keys[gap] = 0L;
+        break;
+      }
+
+      int home = index(next, shift);
+      if (((j - home) & mask) >= ((j - gap) & mask)) {
+        keys[gap] = next;
+        values[gap] = values[j];
+        gap = j;
+      }
+    }
+    --size;
+    return removed;
+  }
+
+  /**
+   * Add values of the other map, for merging per thread counts
+   *
+   * @param other map to add
+   */
+  public void addAll(final ISBNLongMap other) {
+    other.forEach(this::addTo);
+  }
+
+  /**
+   * @param action called with each entry in no particular order
+   */
+  public void forEach(final EntryConsumer action) {
+    long[] keys = this.keys;
+    for (int i = 0; i < keys.length; ++i)
+      if (0L != keys[i])
+        action.accept(keys[i], values[i]);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return 0 == size;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    size = 0;
+  }
+
+  private int find(final long isbn) {
+    if (0L == isbn)
+      return -1;
+
+    long[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = index(isbn, shift); ; i = (i + 1) & mask) {
+      long key = keys[i];
+      if (isbn == key)
+        return i;
+
+      if (0L == key)
+        return -1;
+    }
+  }
+
+  /**
+   * @return index of the existing key or {@code ~index} of the inserted one
+   */
+  private int insert(final long isbn) {
+    checkKey(isbn);
+    long[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = index(isbn, shift); ; i = (i + 1) & mask) {
+      long key = keys[i];
+      if (isbn == key)
+        return i;
+
+      if (0L == key) {
+        keys[i] = isbn;
+        return ~i;
+      }
+    }
+  }
+
+  private void grow() {
+    if (++size <= resizeThreshold)
+      return;
+
+    int capacity = keys.length << 1;
+    if (0 >= capacity)
+      throw new IllegalStateException("Too many ISBNs: " + size);
+
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int k = 0; k < oldKeys.length; ++k) {
+      long key = oldKeys[k];
+      if (0L == key)
+        continue;
+
+      int i = index(key, shift);
+      while (0L != keys[i])
+        i = (i + 1) & mask;
+      keys[i] = key;
+      values[i] = oldValues[k];
+    }
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    resizeThreshold = capacity / 4 * 3;
+    shift = 64 - Integer.numberOfTrailingZeros(capacity);
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * Set of ISBNs keyed by {@link ISBN#toLong()}. Open addressing with linear
+ * probing in a single {@code long[]}, 0 marks an empty slot. A slot takes
+ * 8 bytes and the table is 3/8 to 3/4 full, so about 11 to 21 bytes per ISBN.
+ *
+ * <p>Not thread safe, see {@link ConcurrentISBNSet}.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNSet {
+
+  static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private int size;
+  private int resizeThreshold;
+  private int shift;
+
+  public ISBNSet() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * @param expectedSize number of ISBNs to hold without resize
+   */
+  public ISBNSet(final int expectedSize) {
+    if (0 > expectedSize)
+      throw new IllegalArgumentException("expectedSize = " + expectedSize);
+
+    allocate(capacity(expectedSize));
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the set did not contain the ISBN
+   */
+  public boolean add(final ISBN isbn) {
+    return add(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number, not 0
+   * @return true if the set did not contain the ISBN
+   */
+  public boolean add(final long isbn) {
+    checkKey(isbn);
+    long[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = index(isbn, shift); ; i = (i + 1) & mask) {
+      long key = keys[i];
+      if (isbn == key)
+        return false;
+
+      if (0L == key) {
+        keys[i] = isbn;
+        if (++size > resizeThreshold)
+          rehash(keys.length << 1);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the set contains the ISBN
+   */
+  public boolean contains(final ISBN isbn) {
+    return contains(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the set contains the ISBN
+   */
+  public boolean contains(final long isbn) {
+    if (0L == isbn)
+      return false;
+
+    long[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = index(isbn, shift); ; i = (i + 1) & mask) {
+      long key = keys[i];
+      if (isbn == key)
+        return true;
+
+      if (0L == key)
+        return false;
+    }
+  }
+
+  /**
+   * @param isbn ISBN
+   * @return true if the set contained the ISBN
+   */
+  public boolean remove(final ISBN isbn) {
+    return remove(isbn.toLong());
+  }
+
+  /**
+   * @param isbn ISBN-13 as a number
+   * @return true if the set contained the ISBN
+   */
+  public boolean remove(final long isbn) {
+    if (0L == isbn)
+      return false;
+
+    long[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = index(isbn, shift); ; i = (i + 1) & mask) {
+      long key = keys[i];
+      if (0L == key)
+        return false;
+
+      if (isbn == key) {
+        // Shift back the following entries of the probe sequence, no tombstones
+        for (int gap = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+          long next = keys[j];
+          if (0L == next) {
+            keys[gap] = 0L;
+            break;
+          }
+
+          int home = index(next, shift);
+          if (((j - home) & mask) >= ((j - gap) & mask)) {
+            keys[gap] = next;
+            gap = j;
+          }
+        }
+        --size;
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @param other set to add
+   * @return true if this set changed
+   */
+  public boolean addAll(final ISBNSet other) {
+    boolean changed = false;
+    for (long key : other.keys)
+      if (0L != key)
+        changed |= add(key);
+    return changed;
+  }
+
+  /**
+   * @param action called with each ISBN-13 as a number in no particular order
+   */
+  public void forEach(final LongConsumer action) {
+    for (long key : keys)
+      if (0L != key)
+        action.accept(key);
+  }
+
+  /**
+   * @return ISBNs as numbers in ascending order
+   */
+  public long[] toArray() {
+    long[] array = new long[size];
+    int k = 0;
+    for (long key : keys)
+      if (0L != key)
+        array[k++] = key;
+    Arrays.sort(array);
+    return array;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return 0 == size;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    size = 0;
+  }
+
+  /**
+   * @return slot index of the key in a table of {@code 1 << (64 - shift)} slots,
+   *         Fibonacci hashing spreads consecutive ISBNs
+   */
+  static int index(final long key, final int shift) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+  }
+
+  /**
+   * @return power of two table length which holds the expected size at load factor 3/4
+   */
+  static int capacity(final int expectedSize) {
+    long capacity = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+    if (1 << 30 < capacity)
+      throw new IllegalArgumentException("expectedSize = " + expectedSize);
+
+    return Integer.highestOneBit((int) capacity - 1) << 1;
+  }
+
+  static void checkKey(final long isbn) {
+    if (0L == isbn)
+      throw new IllegalArgumentException("isbn = 0");
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    resizeThreshold = capacity / 4 * 3;
+    shift = 64 - Integer.numberOfTrailingZeros(capacity);
+  }
+
+  private void rehash(final int capacity) {
+    if (0 >= capacity)
+      throw new IllegalStateException("Too many ISBNs: " + size);
+
+    long[] old = keys;
+    allocate(capacity);
+    long[] keys = this.keys;
+    int mask = capacity - 1;
+    for (long key : old) {
+      if (0L == key)
+        continue;
+
+      int i = index(key, shift);
+      while (0L != keys[i])
+        i = (i + 1) & mask;
+      keys[i] = key;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RangeMessage watcher. Watches the file in a background daemon thread and
+ * notifies the listener once the file has been changed and stayed quiet for
+ * a short while, so half written files are not picked up.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class RangeMessageWatcher implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RangeMessageWatcher.class);
+
+  private static final long QUIET_PERIOD_MILLIS = 200;
+
+  /**
+   * Name of the watcher thread
+   */
+  public static final String THREAD_NAME = "isbn-range-message-watcher";
+
+  /**
+   * RangeMessage change listener
+   */
+  public interface Listener {
+
+    /**
+     * Called from the watcher thread
+     *
+     * @param file changed file
+     */
+    void changed(Path file);
+  }
+
+  private final Path file;
+  private final Listener listener;
+  private final WatchService watchService;
+  private final Thread thread;
+
+  /**
+   * Start watching
+   *
+   * @param file RangeMessage.xml file
+   * @param listener listener
+   * @throws IOException if something is wrong
+   */
+  public RangeMessageWatcher(final Path file, final Listener listener) throws IOException {
+    this.file = file.toAbsolutePath();
+    this.listener = listener;
+    this.watchService = this.file.getFileSystem().newWatchService();
+    this.file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+
+    thread = new Thread(this::watch, THREAD_NAME);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stop watching
+   *
+   * @throws IOException if something is wrong
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void watch() {
+    LOGGER.debug("Start watching {}", file);
+    try {
+      while (true) {
+        if (!isChanged(watchService.take()))
+          continue;
+
+        // Wait until writes are over
+        WatchKey key;
+        while (null != (key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)))
+          isChanged(key);
+
+        LOGGER.debug("File changed: {}", file);
+        try {
+          listener.changed(file);
+        } catch (RuntimeException e) {
+          LOGGER.error(e.getMessage(), e);
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      LOGGER.debug("Stop watching {}", file);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean isChanged(final WatchKey key) {
+    boolean changed = false;
+    for (WatchEvent<?> event : key.pollEvents())
+      changed |= OVERFLOW == event.kind() || file.getFileName().equals(event.context());
+    key.reset();
+    return changed;
+  }
+}
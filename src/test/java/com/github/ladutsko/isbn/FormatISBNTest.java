@@ -25,6 +25,7 @@ package com.github.ladutsko.isbn;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -63,6 +64,28 @@ public class FormatISBNTest {
     assertThat(formatter.format(input), is(result));
   }
 
+  @Test
+  public void formatIsbn() {
+    ISBNParseResult parsed = ISBN.tryParse(input);
+    assumeTrue(parsed.isValid());
+
+    ISBN isbn = parsed.getIsbn();
+    assertThat(parsed.isIsbn13() ? formatter.formatIsbn13(isbn) : formatter.formatIsbn10(isbn), is(result));
+  }
+
+  @Test
+  public void parseAndFormat() throws ISBNException {
+    ISBNParseResult parsed = ISBN.tryParse(input);
+    assumeTrue(parsed.isValid());
+
+    ISBNForms forms = formatter.parseAndFormat(input);
+    ISBN isbn = parsed.getIsbn();
+    assertThat(forms.getFormatted(), is(result));
+    assertThat(forms.getIsbn(), is(isbn));
+    assertThat(forms.getIsbn13(), is(isbn.getIsbn13()));
+    assertThat(forms.getIsbn10(), is(isbn.getIsbn10()));
+  }
+
   @Parameters
   public static Collection<Object[]> getParameters() {
     return Arrays.asList(new Object[][] {
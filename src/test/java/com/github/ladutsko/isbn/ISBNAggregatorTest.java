@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNAggregatorTest {
+
+  private static final String[] INPUTS = {
+    "9780321130020", "0321159608", "0-321-13002-2", "0330284983", "9791090636071", "9791186178140", "9789999999991"
+  };
+
+  @Test
+  public void aggregateByGroupAndRegistrant() throws Exception {
+    ISBNAggregator aggregator = new ISBNAggregator();
+    for (String input : INPUTS)
+      aggregator.add(ISBN.parseIsbn(input));
+
+    assertThat(aggregator.getCount(), is(7L));
+    assertThat(aggregator.getUnknownCount(), is(1L));
+
+    Map<String, Long> groups = aggregator.getGroupCounts();
+    assertThat(groups.get("978-0"), is(4L));
+    assertThat(groups.get("979-10"), is(1L));
+    assertThat(groups.get("979-11"), is(1L));
+    assertThat(groups.size(), is(3));
+
+    Map<String, Long> registrants = aggregator.getRegistrantCounts();
+    assertThat(registrants.get("978-0-321"), is(3L));
+    assertThat(registrants.get("978-0-330"), is(1L));
+    assertThat(registrants.get("979-10-90636"), is(1L));
+    assertThat(registrants.get("979-11-86178"), is(1L));
+    assertThat(registrants.size(), is(4));
+  }
+
+  @Test
+  public void countGroupOfUnassignedRange() throws Exception {
+    ISBNAggregator aggregator = new ISBNAggregator();
+    aggregator.add(ISBN.parseIsbn("9781060000001"));
+
+    assertThat(aggregator.getUnknownCount(), is(0L));
+    assertThat(aggregator.getGroupCounts().get("978-1"), is(1L));
+    assertThat(aggregator.getRegistrantCounts().isEmpty(), is(true));
+  }
+
+  @Test
+  public void forEachGroupReportAgency() throws Exception {
+    ISBNAggregator aggregator = ISBNAggregator.aggregate(Arrays.asList(ISBN.parseIsbn("9791090636071")).iterator());
+    List<String> groups = new ArrayList<String>();
+
+    aggregator.forEachGroup((prefix, agency, count) -> groups.add(prefix + " " + agency + " " + count));
+
+    assertThat(groups, is(Arrays.asList("979-10 France 1")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addNumberWithWrongCheckDigit() {
+    new ISBNAggregator().add(9780321130021L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addNumberOutOfRange() {
+    new ISBNAggregator().add(1234567890123L);
+  }
+
+  @Test
+  public void addNumbersLikeIsbns() throws Exception {
+    ISBNAggregator numbers = new ISBNAggregator();
+    ISBNAggregator isbns = new ISBNAggregator();
+    for (String input : INPUTS) {
+      ISBN isbn = ISBN.parseIsbn(input);
+      numbers.add(isbn.toLong());
+      isbns.add(isbn);
+    }
+
+    assertThat(numbers.getGroupCounts(), is(isbns.getGroupCounts()));
+    assertThat(numbers.getRegistrantCounts(), is(isbns.getRegistrantCounts()));
+  }
+
+  @Test
+  public void parallelStreamMatchSequential() throws Exception {
+    List<ISBN> isbns = new ArrayList<ISBN>();
+    for (int i = 0; i < 2000; ++i)
+      isbns.add(ISBNCodec.decode(i * 997331));
+
+    ISBNAggregator sequential = ISBNAggregator.aggregate(isbns.iterator());
+    ISBNAggregator parallel = ISBNAggregator.aggregate(isbns.parallelStream());
+
+    assertThat(parallel.getCount(), is(2000L));
+    assertThat(parallel.getUnknownCount(), is(sequential.getUnknownCount()));
+    assertThat(parallel.getGroupCounts(), is(sequential.getGroupCounts()));
+    assertThat(parallel.getRegistrantCounts(), is(sequential.getRegistrantCounts()));
+  }
+
+  @Test
+  public void mergeAddCounts() throws Exception {
+    ISBNAggregator first = new ISBNAggregator();
+    first.add(ISBN.parseIsbn("9780321130020"));
+    ISBNAggregator second = new ISBNAggregator();
+    second.add(ISBN.parseIsbn("0321159608"));
+    second.add(ISBN.parseIsbn("9791090636071"));
+
+    first.merge(second);
+
+    Map<String, Long> expected = new HashMap<String, Long>();
+    expected.put("978-0-321", 2L);
+    expected.put("979-10-90636", 1L);
+    assertThat(first.getRegistrantCounts(), is(expected));
+    assertThat(first.getCount(), is(3L));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNBatchTest {
+
+  private static final String[] INPUTS = {
+    "978-0-321-15960-1", "1-118-00759-x", "9780123456780", "qwertyuiop", null, "979-10-90636-07-1"
+  };
+
+  @Test
+  public void parseAllReturnResultPerInput() {
+    ISBNBatch batch = ISBN.parseAll(INPUTS);
+
+    assertThat(batch.size(), is(6));
+    assertThat(batch.getValidCount(), is(3));
+    assertThat(batch.getStatus(0), is(ISBNParseResult.Status.VALID));
+    assertThat(batch.getStatus(2), is(ISBNParseResult.Status.SUSPECT_CHECK_DIGIT));
+    assertThat(batch.getStatus(3), is(ISBNParseResult.Status.MALFORMED));
+    assertThat(batch.getStatus(4), is(ISBNParseResult.Status.MALFORMED));
+    assertThat(batch.toLong(1), is(9781118007594L));
+    assertThat(batch.toLong(2), is(0L));
+    assertThat(batch.getIsbn(5).getIsbn13(), is("9791090636071"));
+    assertThat(batch.getIsbn(3), is(nullValue()));
+    assertThat(batch.get(2).getCheckDigit(), is('6'));
+  }
+
+  @Test
+  public void parseAllIsSameAsTryParse() {
+    List<String> inputs = new ArrayList<String>();
+    for (int i = 0; i < 10 * ISBNBatch.SPLIT_THRESHOLD + 7; ++i)
+      inputs.add(INPUTS[i % INPUTS.length]);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertSameAsTryParse(inputs, ISBN.parseAll(inputs, pool));
+      assertSameAsTryParse(inputs, ISBN.parseAll(new LinkedList<String>(inputs), pool));
+      assertSameAsTryParse(inputs, ISBN.parseAll(inputs, new ForkJoinPool(1)));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void streamKeepOrder() {
+    ISBNBatch batch = ISBN.parseAll(Arrays.asList(INPUTS));
+
+    assertThat(batch.stream().map(ISBNParseResult::getStatus).collect(Collectors.toList()),
+      is(Arrays.asList(ISBNParseResult.Status.VALID, ISBNParseResult.Status.VALID, ISBNParseResult.Status.SUSPECT_CHECK_DIGIT,
+        ISBNParseResult.Status.MALFORMED, ISBNParseResult.Status.MALFORMED, ISBNParseResult.Status.VALID)));
+  }
+
+  @Test
+  public void tryParseAllParseStream() {
+    List<ISBN> isbns = ISBN.tryParseAll(Stream.of(INPUTS).parallel())
+      .filter(ISBNParseResult::isValid)
+      .map(ISBNParseResult::getIsbn)
+      .collect(Collectors.toList());
+
+    assertThat(isbns.size(), is(3));
+    assertThat(isbns.get(0).getIsbn13(), is("9780321159601"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseAllThrowIllegalArgumentExceptionForNull() {
+    ISBN.parseAll((List<String>) null);
+  }
+
+  private static void assertSameAsTryParse(final List<String> inputs, final ISBNBatch batch) {
+    assertThat(batch.size(), is(inputs.size()));
+    for (int i = 0; i < inputs.size(); ++i) {
+      ISBNParseResult expected = ISBN.tryParse(inputs.get(i));
+      assertThat(batch.getStatus(i), is(expected.getStatus()));
+      assertThat(batch.getIsbn(i), is(expected.getIsbn()));
+    }
+  }
+}
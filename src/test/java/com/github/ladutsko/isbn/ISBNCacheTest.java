@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNCacheTest {
+
+  @Test
+  public void parseIsbnReturnSharedInstance() throws Exception {
+    ISBNCache cache = new ISBNCache(16);
+
+    ISBN isbn = cache.parseIsbn("0-13-306684-3");
+
+    assertThat(cache.parseIsbn("978-0-13-306684-5"), is(sameInstance(isbn)));
+    assertThat(cache.parseIsbn("0133066843"), is(sameInstance(isbn)));
+    assertThat(isbn, is(ISBN.parseIsbn("0133066843")));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(2L));
+    assertThat(cache.getHitRate(), is(2.0 / 3));
+  }
+
+  @Test
+  public void internReturnSharedInstance() throws Exception {
+    ISBNCache cache = new ISBNCache(16);
+    ISBN isbn = ISBN.parseIsbn("9780321130020");
+
+    assertThat(cache.intern(isbn), is(sameInstance(isbn)));
+    assertThat(cache.intern(ISBN.parseIsbn("0321130022")), is(sameInstance(isbn)));
+    assertThat(cache.parseIsbn("0-321-13002-2"), is(sameInstance(isbn)));
+  }
+
+  @Test
+  public void cacheKeepRecentEntries() throws Exception {
+    ISBNCache cache = new ISBNCache(2);
+    ISBN first = cache.parseIsbn("9780321130020");
+    ISBN second = cache.parseIsbn("9780321159601");
+
+    assertThat(cache.getCapacity(), is(2));
+    assertThat(cache.parseIsbn("9780321130020"), is(sameInstance(first)));
+    assertThat(cache.parseIsbn("9780321159601"), is(sameInstance(second)));
+
+    cache.parseIsbn("9781118007594");
+    assertThat(cache.parseIsbn("9780321159601"), is(sameInstance(second)));
+    assertThat(cache.parseIsbn("9780321130020"), is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void clearResetEntriesAndStatistics() throws Exception {
+    ISBNCache cache = new ISBNCache(16);
+    ISBN isbn = cache.parseIsbn("9780321130020");
+
+    cache.clear();
+
+    assertThat(cache.getHitCount(), is(0L));
+    assertThat(cache.getMissCount(), is(0L));
+    assertThat(cache.parseIsbn("9780321130020"), is(not(sameInstance(isbn))));
+  }
+
+  @Test(expected = ISBNException.class)
+  public void parseIsbnThrowISBNExceptionForWrongCheckDigit() throws Exception {
+    new ISBNCache(16).parseIsbn("9780123456780");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseIsbnThrowIllegalArgumentExceptionForNull() throws Exception {
+    new ISBNCache(16).parseIsbn(null);
+  }
+
+  @Test
+  public void parseIsbnFromManyThreads() throws Exception {
+    final ISBNCache cache = new ISBNCache(64);
+    final String[] inputs = { "9780321130020", "0-13-306684-3", "1-118-00759-x", "979-10-90636-07-1" };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int t = 0; t < 4; ++t) {
+        futures.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            for (int i = 0; i < 10000; ++i) {
+              String input = inputs[i % inputs.length];
+              if (!ISBN.parseIsbn(input).equals(cache.parseIsbn(input)))
+                return false;
+            }
+            return true;
+          }
+        }));
+      }
+      for (Future<Boolean> future : futures)
+        assertThat(future.get(), is(true));
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(cache.getHitCount() + cache.getMissCount(), is(40000L));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNCatalogValidatorTest {
+
+  private static final String[] FIELDS = {
+    "978-0-321-15960-1", "\"0-13-306684-3\"", "1-118-00759-x", "979 10 90636 07 1", "0123456780",
+    "9780123456780", "qwertyuiop", "", "978–0–321–13002–0", "0-13-306684-3\r"
+  };
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void validateWriteResultPerLine() throws Exception {
+    Path input = write("id,isbn,title\r\n1,978-0-321-15960-1,Book\r\n2,\"0-13-306684-4\",Book\r\n3\r\n\r\n4,1-118-00759-x");
+    Path output = folder.newFile().toPath();
+
+    ISBNCatalogValidator validator = new ISBNCatalogValidator(1, ',');
+    ISBNCatalogValidator.Summary summary = validator.validate(input, output);
+
+    assertThat(new String(Files.readAllBytes(output), StandardCharsets.UTF_8),
+      is("MALFORMED,\nVALID,9780321159601\nSUSPECT_CHECK_DIGIT,\nMALFORMED,\nMALFORMED,\nVALID,9781118007594\n"));
+    assertThat(summary.getLineCount(), is(6L));
+    assertThat(summary.getValidCount(), is(2L));
+    assertThat(summary.getMalformedCount(), is(3L));
+    assertThat(summary.getSuspectCheckDigitCount(), is(1L));
+  }
+
+  @Test
+  public void validateSmallChunksSameAsTryParse() throws Exception {
+    Random random = new Random(20131125L);
+    List<String> fields = new ArrayList<String>();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 5000; ++i) {
+      String field = FIELDS[random.nextInt(FIELDS.length)];
+      fields.add(field);
+      sb.append(i).append('\t').append(field).append("\tsome title\n");
+    }
+    Path input = write(sb.toString());
+    Path output = folder.newFile().toPath();
+
+    ISBNCatalogValidator validator = new ISBNCatalogValidator(1, '\t');
+    validator.setChunkSize(100);
+    validator.setPool(pool);
+    validator.validate(input, output);
+
+    List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+    assertThat(lines.size(), is(fields.size()));
+    for (int i = 0; i < fields.size(); ++i) {
+      String field = fields.get(i);
+      if (field.startsWith("\""))
+        field = field.substring(1, field.length() - 1);
+      ISBNParseResult expected = ISBN.tryParse(field.endsWith("\r") ? field : field.trim());
+      assertThat(lines.get(i), is(expected.getStatus() + "\t" + (expected.isValid() ? expected.getIsbn().getIsbn13() : "")));
+    }
+  }
+
+  @Test
+  public void validatePassLinesToListener() throws Exception {
+    Path input = write("978-0-321-15960-1\nqwertyuiop\n0123456780\n");
+    final Map<Long, String> results = new ConcurrentHashMap<Long, String>();
+
+    ISBNCatalogValidator validator = new ISBNCatalogValidator();
+    validator.setChunkSize(1);
+    validator.setPool(pool);
+    validator.validate(input, new ISBNCatalogValidator.Listener() {
+      @Override
+      public void line(final long offset, final ISBNParseResult.Status status, final long isbn13) {
+        results.put(offset, status + ":" + isbn13);
+      }
+    });
+
+    assertThat(results.size(), is(3));
+    assertThat(results.get(0L), is("VALID:9780321159601"));
+    assertThat(results.get(18L), is("MALFORMED:0"));
+    assertThat(results.get(29L), is("SUSPECT_CHECK_DIGIT:0"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setDelimiterThrowIllegalArgumentExceptionForNonAscii() {
+    new ISBNCatalogValidator().setDelimiter('–');
+  }
+
+  private Path write(final String content) throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNCodecTest {
+
+  @Test
+  public void encodeDecodeBounds() throws Exception {
+    assertThat(ISBNCodec.encode(ISBN.ofLong(9780000000002L)), is(0));
+    assertThat(ISBNCodec.encode(ISBN.ofLong(9799999999990L)), is(1999999999));
+    assertThat(ISBNCodec.decode(0), is(ISBN.ofLong(9780000000002L)));
+    assertThat(ISBNCodec.decode(1999999999), is(ISBN.ofLong(9799999999990L)));
+  }
+
+  @Test
+  public void decodeRestoreCheckDigit() throws Exception {
+    for (String input : new String[] { "0123456789", "111800759X", "9791090636071", "0-13-306684-3" }) {
+      ISBN isbn = ISBN.parseIsbn(input);
+      assertThat(ISBNCodec.decode(ISBNCodec.encode(isbn)), is(isbn));
+    }
+  }
+
+  @Test(expected = ISBNException.class)
+  public void decodeNegativeCode() throws Exception {
+    ISBNCodec.decode(-1);
+  }
+
+  @Test(expected = ISBNException.class)
+  public void decodeTooLargeCode() throws Exception {
+    ISBNCodec.decode(2000000000);
+  }
+
+  @Test
+  public void dataOutputRoundTrip() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("111800759X");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ISBNCodec.write(isbn, new DataOutputStream(out));
+
+    assertThat(out.size(), is(ISBNCodec.BYTES));
+    assertThat(ISBNCodec.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray()))), is(isbn));
+  }
+
+  @Test(expected = IOException.class)
+  public void dataInputRejectBadCode() throws Exception {
+    ISBNCodec.read(new DataInputStream(new ByteArrayInputStream(new byte[] { -1, -1, -1, -1 })));
+  }
+
+  @Test
+  public void byteBufferRoundTrip() throws Exception {
+    ISBN[] isbns = { ISBN.parseIsbn("0123456789"), ISBN.parseIsbn("9791090636071"), ISBN.parseIsbn("111800759X") };
+    ByteBuffer buffer = ByteBuffer.allocateDirect(isbns.length * ISBNCodec.BYTES);
+
+    ISBNCodec.write(isbns[0], buffer);
+    ISBNCodec.writeAll(new ISBN[] { isbns[1], isbns[2] }, buffer);
+    buffer.flip();
+
+    assertThat(ISBNCodec.read(buffer), is(isbns[0]));
+    assertThat(ISBNCodec.readAll(buffer, 2), is(new ISBN[] { isbns[1], isbns[2] }));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test
+  public void externalizedDeserializeAsIsbn() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("0123456789");
+
+    byte[] pickled = serialize(ISBNCodec.externalizable(isbn));
+    Object copy = deserialize(pickled);
+
+    assertThat(copy, is(instanceOf(ISBN.class)));
+    assertThat(copy, is((Object) isbn));
+    assertThat(pickled.length < serialize(isbn).length, is(true));
+  }
+
+  @Test(expected = InvalidObjectException.class)
+  public void externalizedRejectBadCode() throws Exception {
+    byte[] pickled = serialize(ISBNCodec.externalizable(ISBN.parseIsbn("0123456789")));
+    // the code is the last 4 bytes before the end of block data marker
+    int p = pickled.length - 1 - ISBNCodec.BYTES;
+    pickled[p] = (byte) 0xFF;
+
+    deserialize(pickled);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void externalizableNull() {
+    ISBNCodec.externalizable(null);
+  }
+
+  private static byte[] serialize(final Object o) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(o);
+    oos.close();
+    return out.toByteArray();
+  }
+
+  private static Object deserialize(final byte[] pickled) throws Exception {
+    return new ObjectInputStream(new ByteArrayInputStream(pickled)).readObject();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ladutsko.isbn.util.ISBNSet;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNFilterTest {
+
+  private static final int COUNT = 20000;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void noFalseNegativesAndFppNearTarget() {
+    Random random = new Random(37);
+    ISBNSet set = new ISBNSet(COUNT);
+    while (set.size() < COUNT)
+      set.add(ISBNCodec.value(random.nextInt(2000000000)));
+    ISBNFilter filter = ISBNFilter.create(COUNT, 0.01);
+    set.forEach(filter::put);
+
+    set.forEach(isbn -> assertThat(filter.mightContain(isbn), is(true)));
+
+    int falsePositives = 0;
+    int negatives = 0;
+    while (negatives < 100000) {
+      long isbn = ISBNCodec.value(random.nextInt(2000000000));
+      if (set.contains(isbn))
+        continue;
+
+      ++negatives;
+      if (filter.mightContain(isbn))
+        ++falsePositives;
+    }
+    assertThat(falsePositives < 1500, is(true));
+    assertThat(filter.getHashCount(), is(7));
+  }
+
+  @Test
+  public void sequentialIsbnsSpread() {
+    // Consecutive codes, like the ISBNs of one publisher
+    ISBNFilter filter = ISBNFilter.create(COUNT, 0.01);
+    for (int code = 0; code < COUNT; ++code)
+      filter.put(ISBNCodec.value(code));
+
+    long falsePositives = LongStream.range(COUNT, COUNT + 100000)
+        .filter(code -> filter.mightContain(ISBNCodec.value((int) code)))
+        .count();
+    assertThat(falsePositives < 1500, is(true));
+  }
+
+  @Test
+  public void buildFromIsbnsAndStrings() throws Exception {
+    ISBNFilter fromIsbns = ISBNFilter.build(Stream.of(ISBN.parseIsbn("0123456789"), ISBN.parseIsbn("9791090636071")), 2, 0.001);
+    ISBNFilter fromStrings = ISBNFilter.buildFromStrings(Stream.of("0123456789", "9791090636071", "not isbn", null, "0123456780"), 2, 0.001);
+
+    for (ISBNFilter filter : Arrays.asList(fromIsbns, fromStrings)) {
+      assertThat(filter.mightContain(ISBN.parseIsbn("9780123456786")), is(true));
+      assertThat(filter.mightContain("979-10-90636-07-1"), is(true));
+      assertThat(filter.mightContain(9781118007594L), is(false));
+      assertThat(filter.mightContain("0123456780"), is(false));
+      assertThat(filter.mightContain((CharSequence) null), is(false));
+    }
+  }
+
+  @Test
+  public void writeReadRoundTrip() throws Exception {
+    ISBNFilter filter = ISBNFilter.create(1000, 0.05);
+    for (int code = 0; code < 1000; ++code)
+      filter.put(ISBNCodec.value(code * 997));
+    Path file = folder.newFile().toPath();
+
+    filter.write(file);
+    ISBNFilter copy = ISBNFilter.read(file);
+
+    assertThat(Files.size(file), is(16 + copy.getBitCount() / 8));
+    assertThat(copy.getBitCount(), is(filter.getBitCount()));
+    assertThat(copy.getHashCount(), is(filter.getHashCount()));
+    for (int code = 0; code < 5000; ++code)
+      assertThat(copy.mightContain(ISBNCodec.value(code)), is(filter.mightContain(ISBNCodec.value(code))));
+  }
+
+  @Test
+  public void rewriteReplaceFile() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNFilter.create(1000, 0.05).write(file);
+    ISBNFilter filter = ISBNFilter.create(100000, 0.01);
+    filter.put(9781118007594L);
+
+    filter.write(file);
+    ISBNFilter copy = ISBNFilter.read(file);
+
+    assertThat(copy.getBitCount(), is(filter.getBitCount()));
+    assertThat(copy.mightContain(9781118007594L), is(true));
+    assertThat(folder.getRoot().list().length, is(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void readNotFilter() throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, new byte[64]);
+
+    ISBNFilter.read(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void readTruncatedFilter() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNFilter.create(100, 0.01).write(file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+    ISBNFilter.read(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void createWithBadFpp() {
+    ISBNFilter.create(100, 1.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void createTooLarge() {
+    ISBNFilter.create(Long.MAX_VALUE / 2, 0.01);
+  }
+}
@@ -26,6 +26,11 @@ package com.github.ladutsko.isbn;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
 /**
@@ -39,4 +44,212 @@ public class ISBNFormatTest {
   public void formatReturnNullForNull() throws Exception {
     assertThat(formatter.format(null), is(nullValue()));
   }
+
+  @Test
+  public void formatNormalized() {
+    assertThat(formatter.format("9780321130020", "-", 3), is("978-0-321-13002-0"));
+    assertThat(formatter.format("0321130022", " ", 0), is("0 321 13002 2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void formatNormalizedWrongBeginIndex() {
+    formatter.format("0321130022", "-", 3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void formatNormalizedMalformed() {
+    formatter.format("032113002", "-", 0);
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void rangeMap() {
+    Map<String, List<ISBNFormat.Range>> rangeMap = formatter.getRangeMap();
+    ISBNFormat.Range range = rangeMap.get("9780").get(0);
+
+    assertThat(range.length, is(2));
+    assertThat(range.min, is(0));
+    assertThat(range.max, is(19));
+    assertThat(rangeMap.get("9780").get(1).min, is(200));
+    assertThat(rangeMap.get("9780").get(1).max, is(227));
+  }
+
+  @Test
+  public void partsOfUnassignedRange() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("9781060000001");
+    ISBNParts parts = formatter.parts(isbn);
+
+    assertThat(parts.isGroupFound(), is(true));
+    assertThat(parts.isRegistrantFound(), is(false));
+    assertThat(parts.getGroup(), is("1"));
+    assertThat(parts.getAgency(), is("English language"));
+    assertThat(formatter.formatIsbn13(isbn), is("978-106000000-1"));
+    assertThat(formatter.format("9781060000001"), is("978-106000000-1"));
+  }
+
+  @Test
+  public void partsOfIsbn() throws Exception {
+    ISBNParts parts = formatter.parts(ISBN.parseIsbn("978-0-321-13002-0"));
+
+    assertThat(parts.getPrefix(), is("978"));
+    assertThat(parts.getGroup(), is("0"));
+    assertThat(parts.getRegistrant(), is("321"));
+    assertThat(parts.getPublication(), is("13002"));
+    assertThat(parts.getCheckDigit(), is('0'));
+    assertThat(parts.getAgency(), is("English language"));
+    assertThat(parts.getGroupOffset(), is(3));
+    assertThat(parts.getGroupLength(), is(1));
+    assertThat(parts.getRegistrantOffset(), is(4));
+    assertThat(parts.getRegistrantLength(), is(3));
+    assertThat(parts.getPublicationOffset(), is(7));
+    assertThat(parts.getPublicationLength(), is(5));
+    assertThat(parts.isGroupFound(), is(true));
+    assertThat(parts.isRegistrantFound(), is(true));
+  }
+
+  @Test
+  public void partsOfIsbnWith979Prefix() throws Exception {
+    ISBNParts parts = formatter.parts(ISBN.parseIsbn("9791090636071"));
+
+    assertThat(parts.getPrefix(), is("979"));
+    assertThat(parts.getGroup(), is("10"));
+    assertThat(parts.getRegistrant(), is("90636"));
+    assertThat(parts.getPublication(), is("07"));
+    assertThat(parts.getCheckDigit(), is('1'));
+    assertThat(parts.getAgency(), is("France"));
+  }
+
+  @Test
+  public void partsOfUnallocatedIsbn() throws Exception {
+    ISBNParts parts = formatter.parts(ISBN.parseIsbn("9789999999991"));
+
+    assertThat(parts.isGroupFound(), is(false));
+    assertThat(parts.isRegistrantFound(), is(false));
+    assertThat(parts.getGroup(), is(""));
+    assertThat(parts.getRegistrant(), is(""));
+    assertThat(parts.getPublication(), is("999999999"));
+    assertThat(parts.getAgency(), is(nullValue()));
+  }
+
+  @Test
+  public void formatIsbnForms() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("0321130022");
+
+    assertThat(formatter.formatIsbn10(isbn), is("0-321-13002-2"));
+    assertThat(formatter.formatIsbn13(isbn), is("978-0-321-13002-0"));
+    assertThat(formatter.parts(null), is(nullValue()));
+    assertThat(formatter.formatIsbn13(null), is(nullValue()));
+    assertThat(formatter.formatIsbn10(ISBN.parseIsbn("9791090636071")), is(nullValue()));
+  }
+
+  @Test
+  public void parseAndFormatReturnAllForms() throws Exception {
+    ISBNForms forms = formatter.parseAndFormat("0-321-13002-2");
+
+    assertThat(forms.getIsbn13(), is("9780321130020"));
+    assertThat(forms.getIsbn10(), is("0321130022"));
+    assertThat(forms.getFormatted(), is("0-321-13002-2"));
+    assertThat(formatter.parts(forms.getIsbn()).getRegistrant(), is("321"));
+  }
+
+  @Test
+  public void parseAndFormatWithSpace() throws Exception {
+    ISBNForms forms = new ISBNFormat(ISBNFormat.SPACE_GROUP_SEPARATOR).parseAndFormat("9791090636071");
+
+    assertThat(forms.getIsbn13(), is("9791090636071"));
+    assertThat(forms.getIsbn10(), is(nullValue()));
+    assertThat(forms.getFormatted(), is("979 10 90636 07 1"));
+  }
+
+  @Test(expected = ISBNException.class)
+  public void parseAndFormatSuspectCheckDigit() throws Exception {
+    formatter.parseAndFormat("0321130023");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseAndFormatNull() throws Exception {
+    formatter.parseAndFormat(null);
+  }
+
+  @Test
+  public void cacheIsDisabledByDefault() throws Exception {
+    assertThat(formatter.getCacheSize(), is(0));
+    assertThat(formatter.format("9780321130020"), is(not(sameInstance(formatter.format("9780321130020")))));
+  }
+
+  @Test
+  public void formatReturnCachedString() throws Exception {
+    ISBNFormat cachingFormatter = new ISBNFormat();
+    cachingFormatter.setCacheSize(100);
+
+    String formatted = cachingFormatter.format("9780321130020");
+
+    assertThat(cachingFormatter.getCacheSize(), is(128));
+    assertThat(formatted, is("978-0-321-13002-0"));
+    assertThat(cachingFormatter.format("978 0321130020"), is(sameInstance(formatted)));
+    assertThat(cachingFormatter.format("9780321130020", " "), is("978 0 321 13002 0"));
+    assertThat(cachingFormatter.format("0321130022"), is("0-321-13002-2"));
+    assertThat(cachingFormatter.format("9780321130021"), is("978-0-321-13002-1"));
+    assertThat(cachingFormatter.format("9780321130020"), is(sameInstance(formatted)));
+  }
+
+  @Test
+  public void formatToAppendable() throws Exception {
+    StringBuilder sb = new StringBuilder("isbn=");
+
+    formatter.formatTo("9780321130020", sb);
+    formatter.formatTo(null, sb);
+    new ISBNFormat(" - ").formatTo("0321130022", (Appendable) sb.append(';'));
+
+    assertThat(sb.toString(), is("isbn=978-0-321-13002-0;0 - 321 - 13002 - 2"));
+  }
+
+  @Test
+  public void formatToStringBuilder() throws Exception {
+    StringBuilder sb = formatter.formatTo("1-118-00759-x", ' ', new StringBuilder("["));
+
+    assertThat(sb.append(']').toString(), is("[1 118 00759 X]"));
+  }
+
+  @Test
+  public void formatToCharBuffer() throws Exception {
+    CharBuffer buffer = CharBuffer.allocate(32);
+    buffer.put('"');
+
+    formatter.formatTo("9791090636071", '-', buffer).put('"');
+
+    buffer.flip();
+    assertThat(buffer.toString(), is("\"979-10-90636-07-1\""));
+  }
+
+  @Test(expected = BufferOverflowException.class)
+  public void formatToCharBufferThrowBufferOverflowException() throws Exception {
+    formatter.formatTo("9791090636071", '-', CharBuffer.allocate(16));
+  }
+
+  @Test
+  public void formatToCharArray() throws Exception {
+    char[] chars = "..................".toCharArray();
+
+    int length = formatter.formatTo("0-13-306684-3", '-', chars, 1);
+
+    assertThat(length, is(13));
+    assertThat(new String(chars), is(".0-13-306684-3...."));
+    assertThat(formatter.formatTo(null, '-', chars, 0), is(0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void formatToCharArrayThrowIndexOutOfBoundsException() throws Exception {
+    formatter.formatTo("9791090636071", '-', new char[20], 4);
+  }
+
+  @Test(expected = ISBNException.class)
+  public void formatToThrowISBNExceptionForMalformed() throws Exception {
+    formatter.formatTo("qwertyuiop", '-', new StringBuilder());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setCacheSizeThrowIllegalArgumentExceptionForNegative() {
+    formatter.setCacheSize(-1);
+  }
 }
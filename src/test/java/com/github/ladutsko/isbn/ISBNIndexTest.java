@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ladutsko.isbn.util.ISBNSet;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNIndexTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void writeOpenLookup() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBN isbn = ISBN.parseIsbn("0123456789");
+    ISBNIndex.write(file, new long[] { 9791090636071L, isbn.toLong(), 9781118007594L, isbn.toLong() });
+
+    ISBNIndex index = ISBNIndex.open(file);
+
+    assertThat(Files.size(file), is(16L + 3 * ISBNCodec.BYTES));
+    assertThat(index.size(), is(3));
+    assertThat(index.get(0), is(isbn.toLong()));
+    assertThat(index.get(2), is(9791090636071L));
+    assertThat(index.contains(isbn), is(true));
+    assertThat(index.contains(9781118007594L), is(true));
+    assertThat(index.contains(9781118007595L), is(false));
+    assertThat(index.contains(9780133066845L), is(false));
+    assertThat(index.contains(0L), is(false));
+  }
+
+  @Test
+  public void rewriteKeepMappedIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, new long[] { 9781118007594L, 9791090636071L });
+    ISBNIndex old = ISBNIndex.open(file);
+
+    ISBNIndex.write(file, new long[] { 9780133066845L });
+    ISBNIndex index = ISBNIndex.open(file);
+
+    assertThat(old.size(), is(2));
+    assertThat(old.contains(9781118007594L), is(true));
+    assertThat(old.contains(9791090636071L), is(true));
+    assertThat(index.size(), is(1));
+    assertThat(index.contains(9780133066845L), is(true));
+    assertThat(folder.getRoot().list().length, is(1));
+  }
+
+  @Test
+  public void matchBinarySearch() throws Exception {
+    Random random = new Random(29);
+    ISBNSet set = new ISBNSet();
+    // Dense and sparse groups like real catalogs
+    for (int i = 0; i < 20000; ++i)
+      set.add(ISBNCodec.value(random.nextInt(30000)));
+    for (int i = 0; i < 20000; ++i)
+      set.add(ISBNCodec.value(random.nextInt(2000000000)));
+    long[] expected = set.toArray();
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, set);
+
+    ISBNIndex index = ISBNIndex.open(file);
+
+    assertThat(index.size(), is(expected.length));
+    long[] queries = new long[10000];
+    for (int i = 0; i < queries.length; ++i) {
+      long query = (0 == i % 3 ? expected[random.nextInt(expected.length)] : ISBNCodec.value(random.nextInt(i % 2 == 0 ? 30000 : 2000000000)));
+      queries[i] = query;
+      assertThat(index.indexOf(query), is(Arrays.binarySearch(expected, query)));
+      assertThat(index.contains(query), is(0 <= Arrays.binarySearch(expected, query)));
+    }
+
+    Arrays.sort(queries);
+    boolean[] found = index.containsAll(queries);
+    for (int i = 0; i < queries.length; ++i)
+      assertThat(found[i], is(0 <= Arrays.binarySearch(expected, queries[i])));
+  }
+
+  @Test
+  public void indexOfNotValidIsbn() throws Exception {
+    Path file = folder.newFile().toPath();
+    long[] isbns = { 9780123456786L, 9781118007594L };
+    ISBNIndex.write(file, isbns);
+    ISBNIndex index = ISBNIndex.open(file);
+
+    for (long isbn : new long[] { 0L, 9780123456780L, 9780123456789L, 9781118007590L, 9781118007599L, Long.MAX_VALUE })
+      assertThat(index.indexOf(isbn), is(Arrays.binarySearch(isbns, isbn)));
+  }
+
+  @Test
+  public void containsAllSkipNotValidIsbn() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, new long[] { 9780123456786L, 9781118007594L });
+
+    boolean[] found = ISBNIndex.open(file).containsAll(new long[] { 1L, 9780123456780L, 9780123456786L, 9791090636071L });
+
+    assertThat(found, is(new boolean[] { false, false, true, false }));
+  }
+
+  @Test
+  public void emptyIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, new long[0]);
+
+    ISBNIndex index = ISBNIndex.open(file);
+
+    assertThat(index.size(), is(0));
+    assertThat(index.contains(9780123456786L), is(false));
+    assertThat(index.containsAll(new long[] { 9780123456786L }), is(new boolean[] { false }));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void writeNotValidIsbn() throws Exception {
+    ISBNIndex.write(folder.newFile().toPath(), new long[] { 9780123456780L });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void containsAllNotSorted() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, new long[] { 9780123456786L });
+
+    ISBNIndex.open(file).containsAll(new long[] { 9781118007594L, 9780123456786L });
+  }
+
+  @Test(expected = IOException.class)
+  public void openNotIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, new byte[32]);
+
+    ISBNIndex.open(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void openTruncatedIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    ISBNIndex.write(file, new long[] { 9780123456786L, 9781118007594L });
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+    ISBNIndex.open(file);
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNRepairTest {
+
+  private final ISBNRepair repair = new ISBNRepair();
+
+  @Test
+  public void repairSubstitution() throws Exception {
+    assertThat(repair.repair("0-321-13602-2"), hasItem(ISBN.parseIsbn("0-321-13002-2")));
+    assertThat(repair.repair("978-0-321-13602-0"), hasItem(ISBN.parseIsbn("978-0-321-13002-0")));
+  }
+
+  @Test
+  public void repairTransposition() throws Exception {
+    assertThat(repair.repair("0-321-13020-2"), hasItem(ISBN.parseIsbn("0-321-13002-2")));
+    assertThat(repair.repair("978-0-312-13002-0"), hasItem(ISBN.parseIsbn("978-0-321-13002-0")));
+  }
+
+  @Test
+  public void repairCheckDigit() throws Exception {
+    assertThat(repair.repair("1118007591"), hasItem(ISBN.parseIsbn("111800759X")));
+    assertThat(repair.repair("9780321130029"), hasItem(ISBN.parseIsbn("9780321130020")));
+  }
+
+  @Test
+  public void validHasNoCandidates() throws Exception {
+    // 1 and 6 are adjacent and 5 apart, swapping them keeps the check digit
+    ISBN.parseIsbn("9780611234568");
+    assertThat(repair.repair("9780161234568").isEmpty(), is(true));
+    assertThat(repair.repair("0-321-13002-2").isEmpty(), is(true));
+  }
+
+  @Test
+  public void malformed() {
+    assertThat(repair.repair("").isEmpty(), is(true));
+    assertThat(repair.repair("032113002").isEmpty(), is(true));
+    assertThat(repair.repair("8780321130029").isEmpty(), is(true));
+  }
+
+  @Test
+  public void matchBruteForce() {
+    Random random = new Random(42);
+    long[] candidates = new long[ISBNRepair.MAX_CANDIDATES];
+    for (int k = 0; k < 2000; ++k) {
+      char[] input = corrupt(random.nextBoolean() ? isbn10(random) : isbn13(random), random);
+
+      int count = repair.repair(new String(input), candidates, 0);
+      TreeSet<Long> actual = new TreeSet<Long>();
+      for (int i = 0; i < count; ++i)
+        actual.add(candidates[i]);
+
+      assertThat(new String(input), actual.size(), is(count));
+      assertThat(new String(input), actual, is(bruteForce(input)));
+    }
+  }
+
+  @Test
+  public void assignedOnly() throws Exception {
+    ISBNRepair assigned = new ISBNRepair();
+    assigned.setAssignedOnly(true);
+    assertThat(assigned.isAssignedOnly(), is(true));
+
+    ISBNFormat format = new ISBNFormat();
+    Random random = new Random(7);
+    for (int k = 0; k < 200; ++k) {
+      String input = new String(corrupt(isbn13(random), random));
+      List<ISBN> all = repair.repair(input);
+      List<ISBN> filtered = assigned.repair(input);
+
+      assertThat(all.containsAll(filtered), is(true));
+      for (ISBN isbn : all)
+        assertThat(isbn.toString(), filtered.contains(isbn), is(0 != format.parts(isbn).getRegistrantLength()));
+    }
+  }
+
+  @Test
+  public void repairAll() throws Exception {
+    long[][] result = repair.repairAll(Arrays.asList("0-321-13602-2", "", "0-321-13020-2"));
+
+    assertThat(result.length, is(3));
+    assertThat(result[0].length, is(repair.repair("0-321-13602-2").size()));
+    assertThat(result[1].length, is(0));
+    assertThat(repair.repair("0-321-13020-2", new long[ISBNRepair.MAX_CANDIDATES], 0), is(result[2].length));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullInput() {
+    repair.repair(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noRoom() {
+    repair.repair("0321130022", new long[ISBNRepair.MAX_CANDIDATES], 1);
+  }
+
+  private static char[] isbn10(final Random random) {
+    char[] digits = new char[10];
+    int sum = 0;
+    for (int i = 0; i < 9; ++i) {
+      digits[i] = (char) ('0' + random.nextInt(10));
+      sum += (10 - i) * (digits[i] - '0');
+    }
+    digits[9] = ISBNLexer.toChar((11 - sum % 11) % 11);
+    return digits;
+  }
+
+  private static char[] isbn13(final Random random) {
+    char[] digits = ("97" + (random.nextBoolean() ? '8' : '9')).concat("0000000000").toCharArray();
+    int sum = 9 + 3 * 7 + (digits[2] - '0');
+    for (int i = 3; i < 12; ++i) {
+      digits[i] = (char) ('0' + random.nextInt(10));
+      sum += (0 == (i & 1) ? 1 : 3) * (digits[i] - '0');
+    }
+    digits[12] = (char) ('0' + (10 - sum % 10) % 10);
+    return digits;
+  }
+
+  private static char[] corrupt(final char[] digits, final Random random) {
+    int i = random.nextInt(digits.length - 1);
+    switch (random.nextInt(3)) {
+      case 0:
+        if ('X' != digits[i])
+          digits[i] = (char) ('0' + random.nextInt(10));
+        break;
+      case 1:
+        if ('X' != digits[i + 1]) {
+          char c = digits[i];
+          digits[i] = digits[i + 1];
+          digits[i + 1] = c;
+        }
+        break;
+      default:
+        digits[digits.length - 1] = (char) ('0' + random.nextInt(10));
+    }
+    return digits;
+  }
+
+  private static TreeSet<Long> bruteForce(final char[] input) {
+    TreeSet<Long> result = new TreeSet<Long>();
+    // Prefix is trusted, 13 digits without 978 or 979 are not ISBN, valid input is not repaired
+    long token = ISBNLexer.scan(new String(input), true);
+    if (ISBNLexer.MALFORMED == token || ISBNLexer.isValid(token))
+      return result;
+
+    for (int i = 0; i < input.length; ++i) {
+      char c = input[i];
+      for (char d : "0123456789X".toCharArray()) {
+        if (d == c)
+          continue;
+
+        input[i] = d;
+        add(input, result);
+      }
+      input[i] = c;
+    }
+    for (int i = 0; i + 1 < input.length; ++i) {
+      char c = input[i];
+      if (c == input[i + 1])
+        continue;
+
+      input[i] = input[i + 1];
+      input[i + 1] = c;
+      add(input, result);
+      input[i + 1] = input[i];
+      input[i] = c;
+    }
+    return result;
+  }
+
+  private static void add(final char[] input, final TreeSet<Long> result) {
+    long token = ISBNLexer.scan(new String(input), true);
+    if (ISBNLexer.isValid(token))
+      result.add(ISBNLexer.isbn13(token));
+  }
+}
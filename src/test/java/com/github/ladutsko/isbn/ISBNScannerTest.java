@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNScannerTest {
+
+  private static final String[] SEGMENTS = {
+    "978-0-321-15960-1", "9780321130020", "0-13-306684-3", "1-118-00759-x", "979 10 90636 07 1",
+    "978-0-321-15960-2", "0123456780", "97803211300201", "1 4302 1995 5", "ISBN:", "ISBN-13", "isbn",
+    "12345", "2013", "a", "_", "x", "X", "-", "--", ".", ",", "(", ")", "\n", "\t", "😀", "–", "<b>", "</b>"
+  };
+
+  private static final String[] GAPS = { "", " ", " ", "  ", "\n", "-", "a", "😀" };
+
+  @Test
+  public void findValidIsbnsWithOffsets() throws Exception {
+    ISBNScanner scanner = new ISBNScanner(new StringReader("See ISBN 978-0-321-15960-1 or 0-13-306684-4, also 1-118-00759-x."));
+
+    assertThat(scanner.find(), is(true));
+    assertThat(scanner.getIsbn().getIsbn13(), is("9780321159601"));
+    assertThat(scanner.start(), is(9L));
+    assertThat(scanner.end(), is(26L));
+
+    assertThat(scanner.find(), is(true));
+    assertThat(scanner.getIsbn().getIsbn10(), is("111800759X"));
+    assertThat(scanner.start(), is(50L));
+
+    assertThat(scanner.find(), is(false));
+    assertThat(scanner.getIsbn(), is(nullValue()));
+    assertThat(scanner.start(), is(-1L));
+  }
+
+  @Test
+  public void findInChannel() throws Exception {
+    byte[] bytes = "Книга 978-0-321-15960-1".getBytes(StandardCharsets.UTF_8);
+    ISBNScanner scanner = new ISBNScanner(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+
+    assertThat(scanner.find(), is(true));
+    assertThat(scanner.start(), is(6L));
+    assertThat(scanner.getIsbn().getIsbn13(), is("9780321159601"));
+    assertThat(scanner.find(), is(false));
+  }
+
+  @Test
+  public void findSameAsPattern() throws Exception {
+    Random random = new Random(20131125L);
+    for (int i = 0; i < 500; ++i) {
+      String text = randomText(random);
+
+      List<String> expected = new ArrayList<String>();
+      Matcher m = ISBN.PATTERN.matcher(text);
+      while (m.find()) {
+        if (ISBN.isValid(m.group()))
+          expected.add(m.start() + "-" + m.end() + ":" + ISBN.parseIsbn(m.group()).getIsbn13());
+      }
+
+      List<String> actual = new ArrayList<String>();
+      ISBNScanner scanner = new ISBNScanner(new ChunkedReader(new StringReader(text), random), 260);
+      while (scanner.find())
+        actual.add(scanner.start() + "-" + scanner.end() + ":" + scanner.getIsbn().getIsbn13());
+
+      assertThat(text, actual, is(expected));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorThrowIllegalArgumentExceptionForSmallBuffer() {
+    new ISBNScanner(new StringReader(""), 16);
+  }
+
+  private static String randomText(final Random random) {
+    StringBuilder sb = new StringBuilder();
+    while (4000 > sb.length()) {
+      sb.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+      sb.append(GAPS[random.nextInt(GAPS.length)]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns a few characters per read to move candidates across buffer refills
+   */
+  private static final class ChunkedReader extends FilterReader {
+
+    private final Random random;
+
+    ChunkedReader(final Reader in, final Random random) {
+      super(in);
+      this.random = random;
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+      return super.read(cbuf, off, Math.min(len, 1 + random.nextInt(40)));
+    }
+  }
+}
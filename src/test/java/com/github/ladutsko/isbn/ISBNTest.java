@@ -32,6 +32,9 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 import org.junit.Test;
 
@@ -117,6 +120,44 @@ public class ISBNTest {
     assertThat(isbn.getIsbn10(), is(copy.getIsbn10()));
   }
 
+  @Test
+  public void serializedFormIsCompatible() throws Exception {
+    // ISBN 0123456789 serialized by 2.1.0
+    byte[] pickled = Base64.getDecoder().decode("rO0ABXNyAB1jb20uZ2l0aHViLmxhZHV0c2tvLmlzYm4uSVNCTgJshQVgYuOwAwABTAAGaXNibjEzdAASTGphdmEvbGFuZy9TdHJpbmc7eHB0AA05NzgwMTIzNDU2Nzg2eA==");
+
+    ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(pickled));
+    ISBN copy = (ISBN) ois.readObject();
+
+    assertThat(copy, is(ISBN.parseIsbn("0123456789")));
+    assertThat(copy.getIsbn10(), is("0123456789"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(copy);
+    oos.close();
+
+    assertThat(out.toByteArray(), is(pickled));
+  }
+
+  @Test
+  public void ofLongReturnEqualIsbn() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("111800759X");
+
+    assertThat(isbn.toLong(), is(9781118007594L));
+    assertThat(ISBN.ofLong(isbn.toLong()), is(isbn));
+    assertThat(ISBN.ofLong(9791090636071L).getIsbn10(), is(nullValue()));
+  }
+
+  @Test(expected=ISBNException.class)
+  public void ofLongThrowISBNExceptionForWrongCheckDigit() throws Exception {
+    ISBN.ofLong(9781118007595L);
+  }
+
+  @Test(expected=ISBNException.class)
+  public void ofLongThrowISBNExceptionForWrongPrefix() throws Exception {
+    ISBN.ofLong(1118007594L);
+  }
+
   @Test
   public void toURITest() throws Exception {
     URI uri = ISBN.parseIsbn("0123456789").toURI();
@@ -225,6 +266,88 @@ public class ISBNTest {
     assertThat(ISBN.isValid("qwertyuiop"), is(false));
   }
 
+  @Test
+  public void tryParseReturnValidResult() {
+    ISBNParseResult result = ISBN.tryParse("1-118-00759-x");
+
+    assertThat(result.getStatus(), is(ISBNParseResult.Status.VALID));
+    assertThat(result.isValid(), is(true));
+    assertThat(result.isIsbn10(), is(true));
+    assertThat(result.getCheckDigit(), is('X'));
+    assertThat(result.getIsbn().getIsbn13(), is("9781118007594"));
+  }
+
+  @Test
+  public void parseIsbnFromBytes() throws Exception {
+    byte[] bytes = "isbn=978‑0‑321‑13002‑0;".getBytes(StandardCharsets.UTF_8);
+
+    assertThat(ISBN.parseIsbn(bytes, 5, bytes.length - 6).getIsbn13(), is("9780321130020"));
+    assertThat(ISBN.isValid(bytes, 5, bytes.length - 6), is(true));
+    assertThat(ISBN.isValid(bytes, 0, bytes.length), is(false));
+    assertThat(ISBN.tryParse(bytes, 5, 3).getStatus(), is(ISBNParseResult.Status.MALFORMED));
+    assertThat(ISBN.normalize(bytes, 5, bytes.length - 6), is("9780321130020"));
+  }
+
+  @Test
+  public void parseIsbnFromByteBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+    buffer.put("isbn 1-118-00759-x".getBytes(StandardCharsets.US_ASCII)).flip();
+
+    assertThat(ISBN.parseIsbn(buffer, 5, 13).getIsbn13(), is("9781118007594"));
+    assertThat(ISBN.tryParse(buffer, 5, 13).isIsbn10(), is(true));
+    assertThat(ISBN.isValid(buffer, 5, 13), is(true));
+    assertThat(ISBN.isValid(buffer, 0, 18), is(false));
+    assertThat(ISBN.normalize(buffer, 5, 13), is("111800759x"));
+    assertThat(buffer.position(), is(0));
+  }
+
+  @Test
+  public void parseIsbnFromBytesThrowISBNExceptionWithInput() throws Exception {
+    try {
+      byte[] bytes = "[978‑0‑321‑13002‑1]".getBytes(StandardCharsets.UTF_8);
+      ISBN.parseIsbn(ByteBuffer.wrap(bytes), 1, bytes.length - 2);
+    } catch (ISBNException e) {
+      assertThat(e.getMessage(), is("Suspect check digit 0: 978‑0‑321‑13002‑1"));
+      return;
+    }
+    throw new AssertionError("ISBNException is expected");
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void isValidThrowIndexOutOfBoundsExceptionForWrongRange() {
+    ISBN.isValid(new byte[10], 5, 10);
+  }
+
+  @Test
+  public void tryParseReturnMalformedForNull() {
+    assertThat(ISBN.tryParse(null).getStatus(), is(ISBNParseResult.Status.MALFORMED));
+  }
+
+  @Test
+  public void tryParseReturnMalformedForNonIsbnString() {
+    ISBNParseResult result = ISBN.tryParse("qwertyuiop");
+
+    assertThat(result.getStatus(), is(ISBNParseResult.Status.MALFORMED));
+    assertThat(result.isIsbn10(), is(false));
+    assertThat(result.isIsbn13(), is(false));
+    assertThat(result.getIsbn(), is(nullValue()));
+  }
+
+  @Test
+  public void tryParseReturnSuspectCheckDigitForWrongCheckDigitIsbn13() {
+    ISBNParseResult result = ISBN.tryParse("9780123456780");
+
+    assertThat(result.getStatus(), is(ISBNParseResult.Status.SUSPECT_CHECK_DIGIT));
+    assertThat(result.isIsbn13(), is(true));
+    assertThat(result.getCheckDigit(), is('6'));
+    assertThat(result.getIsbn(), is(nullValue()));
+  }
+
+  @Test
+  public void tryParseReturnSharedResultForInvalidInput() {
+    assertThat(ISBN.tryParse("0123456780"), is(sameInstance(ISBN.tryParse("0-12-345678-0"))));
+  }
+
   @Test
   public void matcherReturnNullForNull() throws Exception {
     assertThat(ISBN.matcher(null), is(nullValue()));
@@ -234,4 +357,18 @@ public class ISBNTest {
   public void normalizeReturnNullForNull() {
     assertThat(ISBN.normalize(null), is(nullValue()));
   }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void deprecatedHelpersSameAsGetters() throws Exception {
+    for (String input : new String[] { "0123456789", "111800759X", "0133066843", "0330284983" }) {
+      ISBN isbn = ISBN.parseIsbn(input);
+
+      assertThat(ISBN.calculateCheckDigit10(input), is(input.charAt(9)));
+      assertThat(ISBN.calculateCheckDigit13(isbn.getIsbn13()), is(isbn.getIsbn13().charAt(12)));
+      assertThat(ISBN.toIsbn13(input), is(isbn.getIsbn13()));
+      assertThat(ISBN.toIsbn10(isbn.getIsbn13()), is(isbn.getIsbn10()));
+    }
+    assertThat(ISBN.toIsbn10("9791090636071"), is(nullValue()));
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ladutsko.isbn.util.RangeMessageException;
+import com.github.ladutsko.isbn.util.RangeMessageWatcher;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class RangeMessageReloadTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final ISBNFormat formatter = new ISBNFormat();
+
+  @After
+  public void tearDown() throws Exception {
+    ISBNFormat.loadRangeMessage(ISBNFormat.class.getResource("RangeMessage.xml").toString());
+  }
+
+  @Test
+  public void loadRangeMessageReplaceRanges() throws Exception {
+    Path file = write(folder.newFile().toPath(), 4);
+
+    ISBNFormat.loadRangeMessage(file.toUri().toString());
+
+    assertThat(formatter.format("0330284983"), is("0-3302-8498-3"));
+  }
+
+  @Test
+  public void loadRangeMessageInvalidateFormatCache() throws Exception {
+    ISBNFormat cachingFormatter = new ISBNFormat();
+    cachingFormatter.setCacheSize(16);
+    assertThat(cachingFormatter.format("0330284983"), is("0-330-28498-3"));
+
+    ISBNFormat.loadRangeMessage(write(folder.newFile().toPath(), 4).toUri().toString());
+
+    assertThat(cachingFormatter.format("0330284983"), is("0-3302-8498-3"));
+  }
+
+  @Test
+  public void loadRangeMessageApplyToFormatOfIsbn() throws Exception {
+    ISBN isbn = ISBN.parseIsbn("0330284983");
+    assertThat(formatter.formatIsbn10(isbn), is("0-330-28498-3"));
+
+    ISBNFormat.loadRangeMessage(write(folder.newFile().toPath(), 4).toUri().toString());
+
+    assertThat(formatter.formatIsbn10(isbn), is("0-3302-8498-3"));
+    assertThat(formatter.parts(isbn).getRegistrant(), is("3302"));
+  }
+
+  @Test
+  public void loadRangeMessageKeepRangesIfBroken() throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, "<ISBNRangeMessage>".getBytes(StandardCharsets.UTF_8));
+
+    try {
+      ISBNFormat.loadRangeMessage(file.toUri().toString());
+    } catch (RangeMessageException e) {
+      // expected
+    }
+
+    assertThat(formatter.format("0330284983"), is("0-330-28498-3"));
+  }
+
+  @Test
+  public void watchRangeMessageReloadChangedFile() throws Exception {
+    Path file = write(folder.newFile().toPath(), 4);
+
+    try (Closeable watcher = ISBNFormat.watchRangeMessage(file)) {
+      assertThat(formatter.format("0330284983"), is("0-3302-8498-3"));
+
+      Path tmp = write(folder.newFile().toPath(), 5);
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+
+      String formatted = null;
+      for (int i = 0; i < 100 && !"0-33028-498-3".equals(formatted); ++i) {
+        Thread.sleep(100);
+        formatted = formatter.format("0330284983");
+      }
+      assertThat(formatted, is("0-33028-498-3"));
+    }
+  }
+
+  @Test
+  public void watchRangeMessageStopPreviousWatcher() throws Exception {
+    try {
+      ISBNFormat.watchRangeMessage(write(folder.newFile().toPath(), 4));
+      ISBNFormat.watchRangeMessage(write(folder.newFile().toPath(), 5));
+
+      assertThat(formatter.format("0330284983"), is("0-33028-498-3"));
+      assertThat(awaitWatcherThreads(1), is(1));
+    } finally {
+      ISBNFormat.stopWatchingRangeMessage();
+    }
+
+    assertThat(awaitWatcherThreads(0), is(0));
+  }
+
+  private static int awaitWatcherThreads(final int expected) throws InterruptedException {
+    int count = -1;
+    for (int i = 0; i < 100 && expected != count; ++i) {
+      if (0 <= count)
+        Thread.sleep(100);
+      count = 0;
+      for (Thread thread : Thread.getAllStackTraces().keySet())
+        if (RangeMessageWatcher.THREAD_NAME.equals(thread.getName()) && thread.isAlive())
+          ++count;
+    }
+    return count;
+  }
+
+  private static Path write(final Path file, final int registrantLength) throws Exception {
+    String xml = "<ISBNRangeMessage>"
+      + "<MessageSource>test</MessageSource>"
+      + "<MessageDate>now</MessageDate>"
+      + "<EAN.UCCPrefixes/>"
+      + "<RegistrationGroups>"
+      + "<Group><Prefix>978-0</Prefix><Agency>English language</Agency><Rules>"
+      + "<Rule><Range>0000000-9999999</Range><Length>" + registrantLength + "</Length></Rule>"
+      + "</Rules></Group>"
+      + "</RegistrationGroups>"
+      + "</ISBNRangeMessage>";
+    Files.write(file, xml.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
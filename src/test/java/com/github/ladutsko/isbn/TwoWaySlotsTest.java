@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class TwoWaySlotsTest {
+
+  @Test
+  public void capacityRoundedUpToPowerOfTwo() {
+    assertThat(new TwoWaySlots<String>(1).capacity(), is(2));
+    assertThat(new TwoWaySlots<String>(2).capacity(), is(2));
+    assertThat(new TwoWaySlots<String>(1000).capacity(), is(1024));
+  }
+
+  @Test
+  public void insertEvictSecondAndPromoteHit() {
+    TwoWaySlots<String> slots = new TwoWaySlots<String>(2);
+    int set = slots.set(42L);
+    assertThat(set, is(0));
+
+    slots.insert(set, "a");
+    slots.insert(set, "b");
+    assertThat(slots.get(set), is("b"));
+    assertThat(slots.get(set + 1), is("a"));
+
+    slots.promote(set, "b", "a");
+    slots.insert(set, "c");
+    assertThat(slots.get(set), is("c"));
+    assertThat(slots.get(set + 1), is("a"));
+
+    slots.clear();
+    assertThat(slots.get(set), is(nullValue()));
+    assertThat(slots.get(set + 1), is(nullValue()));
+  }
+
+  @Test
+  public void setIsFirstSlotOfPair() {
+    TwoWaySlots<String> slots = new TwoWaySlots<String>(1024);
+    for (long key = 0; key < 10000; ++key) {
+      int set = slots.set(key);
+      assertThat(0 == set % TwoWaySlots.WAYS && 0 <= set && slots.capacity() > set + 1, is(true));
+    }
+  }
+}
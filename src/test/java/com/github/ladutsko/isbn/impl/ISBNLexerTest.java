@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNLexerTest {
+
+  private static final Pattern PATTERN = Pattern.compile("\\b(?:(97[89](?:\\s*[^\\s\\dXx]?\\s*\\d){10})|((?:\\d\\s*[^\\s\\dXx]?\\s*){9}[\\dXx]))\\b");
+  private static final Pattern PATTERN_WITHOUT_CHECK_DIGIT = Pattern.compile("\\b(?:(97[89](?:\\s*[^\\s\\dXx]?\\s*\\d){9,10})|((?:\\d\\s*[^\\s\\dXx]?\\s*){9}[\\dXx]?))\\b");
+
+  // No non-ASCII letters or digits, \b treats them differently since JDK 19
+  private static final String[] GAPS = {
+    "", "", "", "", "-", " ", "  ", "-\n", " - ", "--", "a", "_", "*", "\t", " ", "–", "😀", "x", "X", "0"
+  };
+
+  @Test
+  public void scanAcceptsSameInputAsPattern() {
+    Random random = new Random(20131125L);
+    for (int i = 0; i < 200000; ++i) {
+      String input = randomInput(random);
+      assertSameAsPattern(input, PATTERN, ISBNLexer.scan(input, true));
+      assertSameAsPattern(input, PATTERN_WITHOUT_CHECK_DIGIT, ISBNLexer.scan(input, false));
+
+      byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+      assertSameAsPattern(input, PATTERN, ISBNLexer.scan(bytes, 0, bytes.length, true));
+      assertSameAsPattern(input, PATTERN_WITHOUT_CHECK_DIGIT, ISBNLexer.scan(bytes, 0, bytes.length, false));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes);
+      assertSameAsPattern(input, PATTERN, ISBNLexer.scan(direct, 0, bytes.length, true));
+      assertSameAsPattern(input, PATTERN_WITHOUT_CHECK_DIGIT, ISBNLexer.scan(direct, 0, bytes.length, false));
+    }
+  }
+
+  @Test
+  public void isWordAcceptLetterOfAnyScript() {
+    assertThat(ISBNLexer.isWord('_'), is(true));
+    assertThat(ISBNLexer.isWord('a'), is(true));
+    assertThat(ISBNLexer.isWord('ж'), is(true));
+    assertThat(ISBNLexer.isWord('٣'), is(true));
+    assertThat(ISBNLexer.isWord('-'), is(false));
+    assertThat(ISBNLexer.isWord('–'), is(false));
+  }
+
+  @Test
+  public void scanIsbn10WithoutCheckDigitEndWithLetterOfAnyScript() {
+    assertThat(ISBNLexer.scan("0-13-306684ж", false), is(not(ISBNLexer.MALFORMED)));
+    assertThat(ISBNLexer.scan("0-13-306684–", false), is(ISBNLexer.MALFORMED));
+  }
+
+  @Test
+  public void scanReturnMalformedForShortInput() {
+    assertThat(ISBNLexer.scan("", true), is(ISBNLexer.MALFORMED));
+    assertThat(ISBNLexer.scan("12345678", false), is(ISBNLexer.MALFORMED));
+  }
+
+  @Test
+  public void scanRegion() {
+    long token = ISBNLexer.scan("ISBN 978-0-321-13002-0.", 5, 22, true);
+
+    assertThat(ISBNLexer.isValid(token), is(true));
+    assertThat(ISBNLexer.isbn13(token), is(9780321130020L));
+  }
+
+  @Test
+  public void scanIsbn10WithX() {
+    long token = ISBNLexer.scan("1-118-00759-x", true);
+
+    assertThat(ISBNLexer.isIsbn13(token), is(false));
+    assertThat(ISBNLexer.isValid(token), is(true));
+    assertThat(ISBNLexer.inputCheckDigit(token), is(10));
+    assertThat(ISBNLexer.isbn13(token), is(9781118007594L));
+  }
+
+  @Test
+  public void scanWithoutCheckDigit() {
+    long token = ISBNLexer.scan("979-10-90636-07", false);
+
+    assertThat(ISBNLexer.isIsbn13(token), is(true));
+    assertThat(ISBNLexer.inputCheckDigit(token), is(-1));
+    assertThat(ISBNLexer.checkDigit(token), is(1));
+  }
+
+  @Test
+  public void scanUtf8BytesSameAsChars() {
+    Random random = new Random(20131125L);
+    for (int i = 0; i < 200000; ++i) {
+      String input = randomInput(random);
+      if (random.nextInt(8) == 0)
+        input = input.replaceFirst("\\D", "ж");
+
+      byte[] bytes = ("[" + input + "]").getBytes(StandardCharsets.UTF_8);
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes);
+      assertThat(input, ISBNLexer.scan(bytes, 1, bytes.length - 1, true), is(ISBNLexer.scan(input, true)));
+      assertThat(input, ISBNLexer.scan(bytes, 1, bytes.length - 1, false), is(ISBNLexer.scan(input, false)));
+      assertThat(input, ISBNLexer.scan(direct, 1, bytes.length - 1, true), is(ISBNLexer.scan(input, true)));
+      assertThat(input, ISBNLexer.scan(direct, 1, bytes.length - 1, false), is(ISBNLexer.scan(input, false)));
+    }
+  }
+
+  @Test
+  public void scanUtf8BytesTreatMalformedByteAsSeparator() {
+    byte[] bytes = { '0', '-', '1', '3', (byte) 0xE2, '3', '0', '6', '6', '8', '4', '-', '3' };
+
+    assertThat(ISBNLexer.isValid(ISBNLexer.scan(ByteBuffer.wrap(bytes), 0, bytes.length, true)), is(true));
+  }
+
+  private static void assertSameAsPattern(final String input, final Pattern pattern, final long token) {
+    Matcher m = pattern.matcher(input);
+    boolean matches = m.matches();
+    assertThat(input, ISBNLexer.MALFORMED != token, is(matches));
+    if (!matches)
+      return;
+
+    assertThat(input, ISBNLexer.isIsbn13(token), is(null != m.group(1)));
+
+    String digits = m.group().replaceAll("[^\\dXx]+", "");
+    if (null != m.group(1)) {
+      assertThat(input, ISBNLexer.isbn13(token) / 10, is(Long.parseLong(digits.substring(0, 12))));
+      assertThat(input, ISBNLexer.checkDigit(token), is(checkDigit13(digits)));
+      assertThat(input, ISBNLexer.inputCheckDigit(token), is(12 < digits.length() ? digits.charAt(12) - '0' : -1));
+    } else {
+      assertThat(input, ISBNLexer.isbn13(token) / 10, is(Long.parseLong("978" + digits.substring(0, 9))));
+      assertThat(input, ISBNLexer.checkDigit(token), is(checkDigit10(digits)));
+      assertThat(input, ISBNLexer.isbn13(token) % 10, is((long) checkDigit13("978" + digits)));
+    }
+  }
+
+  private static String randomInput(final Random random) {
+    int length;
+    StringBuilder digits = new StringBuilder();
+    switch (random.nextInt(4)) {
+      case 0:
+        digits.append(random.nextBoolean() ? "978" : "979");
+        length = 11 + random.nextInt(4);
+        break;
+
+      case 1:
+        digits.append("97");
+        length = 8 + random.nextInt(7);
+        break;
+
+      default:
+        length = 8 + random.nextInt(4);
+    }
+    while (digits.length() < length)
+      digits.append((char) ('0' + random.nextInt(10)));
+    if (random.nextInt(4) == 0)
+      digits.append(random.nextBoolean() ? 'X' : 'x');
+
+    StringBuilder sb = new StringBuilder();
+    if (random.nextInt(10) == 0)
+      sb.append(GAPS[random.nextInt(GAPS.length)]);
+    for (int i = 0; i < digits.length(); ++i) {
+      if (0 < i && random.nextInt(3) == 0)
+        sb.append(GAPS[random.nextInt(GAPS.length)]);
+      sb.append(digits.charAt(i));
+    }
+    if (random.nextInt(10) == 0)
+      sb.append(GAPS[random.nextInt(GAPS.length)]);
+    return sb.toString();
+  }
+
+  private static int checkDigit13(final String digits) {
+    int sum = 0;
+    for (int i = 0; i < 12; i++)
+      sum += ((i & 1) == 0 ? 1 : 3) * (digits.charAt(i) - '0');
+    return (10 - sum % 10) % 10;
+  }
+
+  private static int checkDigit10(final String digits) {
+    int sum = 0;
+    for (int i = 0; i < 9; i++)
+      sum += (i + 1) * (digits.charAt(i) - '0');
+    return sum % 11;
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.impl;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.ISBNFormat;
+import com.github.ladutsko.isbn.impl.model.Group;
+import com.github.ladutsko.isbn.impl.model.ISBNRangeMessage;
+import com.github.ladutsko.isbn.impl.model.Rule;
+import com.github.ladutsko.isbn.util.RangeMessageException;
+import com.github.ladutsko.isbn.util.RangeMessageLoader;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class RangeTableTest {
+
+  @Test
+  public void precompiledTableIsSameAsRangeMessage() throws Exception {
+    RangeTable expected = RangeTable.compile(new RangeMessageLoader().load(ISBNFormat.class.getResource("RangeMessage.xml").toString()));
+
+    InputStream in = ISBNFormat.class.getResourceAsStream("RangeTable.bin");
+    assertThat(in, is(notNullValue()));
+    try {
+      assertSameLookup(expected, RangeTable.read(in));
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void writeAndRead() throws Exception {
+    RangeTable expected = RangeTable.compile(new RangeMessageLoader().load(ISBNFormat.class.getResource("RangeMessage.xml").toString()));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    expected.write(out);
+
+    assertSameLookup(expected, RangeTable.read(new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void writeAndReadGroupWithoutAgency() throws Exception {
+    ISBNRangeMessage message = message("978-99999", "0000000-9999999", "4");
+    message.registrationGroups.get(0).agency = null;
+    RangeTable expected = RangeTable.compile(message);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    expected.write(out);
+    RangeTable actual = RangeTable.read(new ByteArrayInputStream(out.toByteArray()));
+
+    assertThat(expected.getAgency(0), is(nullValue()));
+    assertThat(actual.getAgency(0), is(nullValue()));
+    assertSameLookup(expected, actual);
+  }
+
+  @Test
+  public void lookupKeepGroupOfUnassignedRange() throws Exception {
+    RangeTable table = RangeTable.compile(new RangeMessageLoader().load(ISBNFormat.class.getResource("RangeMessage.xml").toString()));
+
+    // 978-1 has no registrants in 0600000-0665999
+    int layout = table.lookup(978106000000L);
+    assertThat(RangeTable.NOT_FOUND == layout, is(false));
+    assertThat(RangeTable.isUnassigned(layout), is(true));
+    assertThat(table.getPrefix(RangeTable.group(layout)), is("978-1"));
+    assertThat(RangeTable.groupLength(layout), is(1));
+    assertThat(RangeTable.registrantLength(layout), is(0));
+
+    layout = table.lookup(978032113002L);
+    assertThat(RangeTable.isUnassigned(layout), is(false));
+    assertThat(table.getPrefix(RangeTable.group(layout)), is("978-0"));
+    assertThat(RangeTable.registrantLength(layout), is(3));
+  }
+
+  @Test(expected = RangeMessageException.class)
+  public void compileRejectRegistrantWhichDoesNotFitIsbn() throws Exception {
+    // 5 digits of group and 5 of registrant leave -1 for publication
+    RangeTable.compile(message("978-99999", "00000-99999", "5"));
+  }
+
+  @Test
+  public void compileAcceptRegistrantWhichFillsIsbn() throws Exception {
+    RangeTable table = RangeTable.compile(message("978-99999", "0000000-9999999", "4"));
+
+    int layout = table.lookup(978999991234L);
+    assertThat(RangeTable.groupLength(layout), is(5));
+    assertThat(RangeTable.registrantLength(layout), is(4));
+  }
+
+  @Test(expected = IOException.class)
+  public void readRejectRegistrantWhichDoesNotFitIsbn() throws Exception {
+    RangeTable table = new RangeTable(new int[10], new String[] { "978-99999" }, new String[] { "Test" },
+      new int[] { 0, 1 }, new int[] { 0 }, new int[] { 9999999 }, new int[] { 5 });
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.write(out);
+
+    RangeTable.read(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  @Test(expected = IOException.class)
+  public void readRejectUnknownData() throws Exception {
+    RangeTable.read(new ByteArrayInputStream("<ISBNRangeMessage>".getBytes("UTF-8")));
+  }
+
+  private static ISBNRangeMessage message(final String prefix, final String range, final String length) {
+    Rule rule = new Rule();
+    rule.range = range;
+    rule.length = length;
+    Group group = new Group();
+    group.prefix = prefix;
+    group.agency = "Test";
+    group.rules = Collections.singletonList(rule);
+    ISBNRangeMessage message = new ISBNRangeMessage();
+    message.registrationGroups = Collections.singletonList(group);
+    return message;
+  }
+
+  private static void assertSameLookup(final RangeTable expected, final RangeTable actual) {
+    assertThat(actual.getGroupCount(), is(expected.getGroupCount()));
+    assertThat(actual.getRuleCount(), is(expected.getRuleCount()));
+    for (int g = 0; g < expected.getGroupCount(); ++g) {
+      assertThat(actual.getPrefix(g), is(expected.getPrefix(g)));
+      assertThat(actual.getAgency(g), is(expected.getAgency(g)));
+    }
+
+    Random random = new Random(20131125L);
+    for (int i = 0; i < 100000; ++i) {
+      long body = (0 == (i & 1) ? 978000000000L : 979000000000L) + (long) (random.nextDouble() * 1000000000L);
+      assertThat(actual.lookup(body), is(expected.lookup(body)));
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.spi;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.ISBN;
+import com.github.ladutsko.isbn.ISBNBatch;
+import com.github.ladutsko.isbn.ISBNException;
+import com.github.ladutsko.isbn.ISBNFormat;
+import com.github.ladutsko.isbn.ISBNParseResult.Status;
+import com.github.ladutsko.isbn.impl.ISBNLexer;
+import com.github.ladutsko.isbn.impl.Metrics;
+
+/**
+ * {@link RecordingMetrics} is registered in {@code metrics/META-INF/services},
+ * which is visible to a dedicated class loader only. Each scenario runs with
+ * its own copy of the library classes, the rest of the tests and benchmarks
+ * see no implementation.
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNMetricsTest {
+
+  @Test
+  public void defaultPathDoNothing() throws Exception {
+    assertThat(Metrics.ENABLED, is(false));
+    assertThat(Metrics.METRICS, is(nullValue()));
+    assertThat(Metrics.start(), is(0L));
+
+    Metrics.parsed(ISBNLexer.MALFORMED, 0L);
+    Metrics.formatted(false, 0L);
+    assertThat(ISBN.parseIsbn("978-0-13-306684-5").getIsbn13(), is("9780133066845"));
+  }
+
+  @Test
+  public void loadImplementation() throws Exception {
+    assertThat(run(LoadImplementation.class), is((Object) RecordingMetrics.class.getName()));
+  }
+
+  @Test
+  public void disableByProperty() throws Exception {
+    System.setProperty(ISBNMetrics.ENABLED_PROPERTY, "false");
+    try {
+      assertThat(run(LoadImplementation.class), is(nullValue()));
+    } finally {
+      System.clearProperty(ISBNMetrics.ENABLED_PROPERTY);
+    }
+  }
+
+  @Test
+  public void parseReportStatus() throws Exception {
+    assertThat(run(ParseReportStatus.class), is((Object) Arrays.asList(5L, 1L, 2L)));
+  }
+
+  @Test
+  public void parseAllReportEachInput() throws Exception {
+    assertThat(run(ParseAllReportEachInput.class), is((Object) Arrays.asList(1L, 1L, 1L)));
+  }
+
+  @Test
+  public void formatReportSuccess() throws Exception {
+    assertThat(run(FormatReportSuccess.class), is((Object) Arrays.asList(2L, 1L)));
+  }
+
+  @Test
+  public void loadRangeMessageReportSource() throws Exception {
+    assertThat(run(LoadRangeMessageReportSource.class), is((Object) true));
+  }
+
+  private static Object run(final Class<? extends Callable<Object>> scenario) throws Exception {
+    URL[] urls = {
+      ISBN.class.getProtectionDomain().getCodeSource().getLocation(),
+      ISBNMetricsTest.class.getProtectionDomain().getCodeSource().getLocation(),
+      ISBNMetricsTest.class.getResource("/metrics/")
+    };
+    IsolatedClassLoader loader = new IsolatedClassLoader(urls, ISBNMetricsTest.class.getClassLoader());
+    try {
+      @SuppressWarnings("unchecked")
+      Callable<Object> callable = (Callable<Object>) loader.loadClass(scenario.getName()).newInstance();
+      return callable.call();
+    } finally {
+      loader.close();
+    }
+  }
+
+  private static long count(final Status status) {
+    return RecordingMetrics.PARSED.get(status).get();
+  }
+
+  /**
+   * Loads the library and test classes itself, everything else from the parent
+   */
+  private static final class IsolatedClassLoader extends URLClassLoader {
+
+    private static final String PREFIX = "com.github.ladutsko.isbn.";
+
+    IsolatedClassLoader(final URL[] urls, final ClassLoader parent) {
+      super(urls, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+      if (!name.startsWith(PREFIX))
+        return super.loadClass(name, resolve);
+
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> c = findLoadedClass(name);
+        if (null == c)
+          c = findClass(name);
+        if (resolve)
+          resolveClass(c);
+        return c;
+      }
+    }
+  }
+
+  public static final class LoadImplementation implements Callable<Object> {
+
+    @Override
+    public Object call() throws Exception {
+      return Metrics.ENABLED ? Metrics.METRICS.getClass().getName() : null;
+    }
+  }
+
+  public static final class ParseReportStatus implements Callable<Object> {
+
+    @Override
+    public Object call() throws Exception {
+      ISBN.parseIsbn("978-0-13-306684-5");
+      ISBN.parseIsbn("0133066843".getBytes(StandardCharsets.US_ASCII), 0, 10);
+      ISBN.tryParse("0133066844");
+      ISBN.isValid("0133066843");
+      ISBN.isIsbn13("978-0-13-306684-5");
+      ISBN.isIsbn10("0-13-306684-3");
+      ISBN.isValid("not isbn");
+      try {
+        ISBN.parseIsbn("not isbn");
+      } catch (ISBNException e) {
+        // expected
+      }
+
+      return Arrays.asList(count(Status.VALID), count(Status.SUSPECT_CHECK_DIGIT), count(Status.MALFORMED));
+    }
+  }
+
+  public static final class ParseAllReportEachInput implements Callable<Object> {
+
+    @Override
+    public Object call() throws Exception {
+      ISBNBatch batch = ISBN.parseAll("0133066843", "0133066844", "not isbn");
+      assertThat(batch.size(), is(3));
+
+      return Arrays.asList(count(Status.VALID), count(Status.SUSPECT_CHECK_DIGIT), count(Status.MALFORMED));
+    }
+  }
+
+  public static final class FormatReportSuccess implements Callable<Object> {
+
+    @Override
+    public Object call() throws Exception {
+      ISBNFormat formatter = new ISBNFormat();
+      formatter.format("0330284983");
+      formatter.formatTo("0330284983", '-', new StringBuilder());
+      try {
+        formatter.format("not isbn");
+      } catch (ISBNException e) {
+        // expected
+      }
+
+      return Arrays.asList(RecordingMetrics.FORMATTED.get(), RecordingMetrics.FORMAT_FAILED.get());
+    }
+  }
+
+  public static final class LoadRangeMessageReportSource implements Callable<Object> {
+
+    @Override
+    public Object call() throws Exception {
+      String url = ISBNFormat.class.getResource("RangeMessage.xml").toString();
+
+      ISBNFormat.loadRangeMessage(url);
+
+      return url.equals(RecordingMetrics.RANGE_TABLE_SOURCE.get()) && 0 < RecordingMetrics.RANGE_COUNT.get();
+    }
+  }
+}
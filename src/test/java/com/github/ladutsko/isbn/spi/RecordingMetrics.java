@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.spi;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.ladutsko.isbn.ISBNParseResult;
+
+/**
+ * Counts events, registered in test metrics/META-INF/services
+ *
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class RecordingMetrics implements ISBNMetrics {
+
+  static final Map<ISBNParseResult.Status, AtomicLong> PARSED = new EnumMap<ISBNParseResult.Status, AtomicLong>(ISBNParseResult.Status.class);
+  static final AtomicLong FORMATTED = new AtomicLong();
+  static final AtomicLong FORMAT_FAILED = new AtomicLong();
+  static final AtomicReference<String> RANGE_TABLE_SOURCE = new AtomicReference<String>();
+  static final AtomicLong RANGE_COUNT = new AtomicLong();
+
+  static {
+    for (ISBNParseResult.Status status : ISBNParseResult.Status.values())
+      PARSED.put(status, new AtomicLong());
+  }
+
+  @Override
+  public void parsed(final ISBNParseResult.Status status, final long nanos) {
+    PARSED.get(status).incrementAndGet();
+  }
+
+  @Override
+  public void formatted(final boolean success, final long nanos) {
+    (success ? FORMATTED : FORMAT_FAILED).incrementAndGet();
+  }
+
+  @Override
+  public void rangeTableLoaded(final String source, final long nanos, final int groupCount, final int ruleCount) {
+    RANGE_TABLE_SOURCE.set(source);
+    RANGE_COUNT.set(ruleCount);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class CheckDigitsTest {
+
+  private static final int COUNT = 10000;
+
+  @Test
+  public void validate13SameAsIsbn() {
+    String[] inputs = randomRecords(new Random(20131125L), 13);
+    byte[] records = join(inputs);
+
+    long[] bitmap = CheckDigits.validate13(records, 0, COUNT);
+
+    assertThat(bitmap.length, is((COUNT + 63) / 64));
+    for (int i = 0; i < COUNT; ++i)
+      assertThat(inputs[i], CheckDigits.isValid(bitmap, i), is(isValid(inputs[i])));
+  }
+
+  @Test
+  public void validate10SameAsIsbn() {
+    String[] inputs = randomRecords(new Random(20131125L), 10);
+    byte[] records = join(inputs);
+
+    long[] bitmap = CheckDigits.validate10(records, 0, COUNT);
+
+    for (int i = 0; i < COUNT; ++i)
+      assertThat(inputs[i], CheckDigits.isValid(bitmap, i), is(isValid(inputs[i])));
+  }
+
+  @Test
+  public void checkDigit13SameAsValidate13() {
+    Random random = new Random(20131125L);
+    for (int i = 0; i < COUNT; ++i) {
+      long body = (0 == (i & 1) ? 978000000000L : 979000000000L) + (long) (random.nextDouble() * 1000000000L);
+      byte[] record = (Long.toString(body) + CheckDigits.checkDigit13(body)).getBytes(StandardCharsets.US_ASCII);
+
+      assertThat(Long.toString(body), CheckDigits.isValid(CheckDigits.validate13(record, 0, 1), 0), is(true));
+    }
+  }
+
+  @Test
+  public void checkDigit10SameAsValidate10() {
+    Random random = new Random(20131125L);
+    for (int i = 0; i < COUNT; ++i) {
+      long body = 978000000000L + (long) (random.nextDouble() * 1000000000L);
+      String isbn10 = Long.toString(body).substring(3) + (10 == CheckDigits.checkDigit10(body) ? "X" : Integer.toString(CheckDigits.checkDigit10(body)));
+      byte[] record = isbn10.getBytes(StandardCharsets.US_ASCII);
+
+      assertThat(isbn10, CheckDigits.isValid(CheckDigits.validate10(record, 0, 1), 0), is(true));
+    }
+  }
+
+  @Test
+  public void toIsbn13SameAsIsbn() throws Exception {
+    String[] inputs = randomRecords(new Random(20131125L), 10);
+    byte[] out = new byte[13 * COUNT];
+
+    long[] bitmap = CheckDigits.toIsbn13(join(inputs), 0, COUNT, out, 0);
+
+    for (int i = 0; i < COUNT; ++i) {
+      assertThat(inputs[i], CheckDigits.isValid(bitmap, i), is(isValid(inputs[i])));
+      if (CheckDigits.isValid(bitmap, i))
+        assertThat(new String(out, 13 * i, 13, StandardCharsets.US_ASCII), is(ISBN.parseIsbn(inputs[i]).getIsbn13()));
+    }
+  }
+
+  @Test
+  public void toIsbn10SameAsIsbn() throws Exception {
+    String[] inputs = randomRecords(new Random(20131125L), 13);
+    byte[] out = new byte[10 * COUNT];
+
+    long[] bitmap = CheckDigits.toIsbn10(join(inputs), 0, COUNT, out, 0);
+
+    for (int i = 0; i < COUNT; ++i) {
+      boolean convertible = isValid(inputs[i]) && inputs[i].startsWith("978");
+      assertThat(inputs[i], CheckDigits.isValid(bitmap, i), is(convertible));
+      if (convertible)
+        assertThat(new String(out, 10 * i, 10, StandardCharsets.US_ASCII), is(ISBN.parseIsbn(inputs[i]).getIsbn10()));
+    }
+  }
+
+  @Test
+  public void validateRecordsAtOffset() {
+    byte[] records = "..9780321130020978032113002197803211300209".getBytes(StandardCharsets.US_ASCII);
+
+    long[] bitmap = CheckDigits.validate13(records, 2, 3);
+
+    assertThat(bitmap[0], is(0x5L));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void validate13ThrowIndexOutOfBoundsExceptionForShortArray() {
+    CheckDigits.validate13(new byte[25], 0, 2);
+  }
+
+  private static boolean isValid(final String input) {
+    return input.matches("[\\dXx]+") && ISBN.isValid(input) && (10 == input.length() || !input.matches(".*[Xx].*"));
+  }
+
+  private static String[] randomRecords(final Random random, final int length) {
+    String[] records = new String[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      StringBuilder sb = new StringBuilder(13 == length ? (random.nextInt(10) == 0 ? "123" : random.nextBoolean() ? "978" : "979") : "");
+      while (sb.length() < length - 1)
+        sb.append((char) ('0' + random.nextInt(10)));
+
+      // Correct check digit in about half of the records
+      String body = sb.toString();
+      String checkDigit = (random.nextBoolean() ? checkDigit(body) : String.valueOf(random.nextInt(10)));
+      sb.append(checkDigit);
+      if (random.nextInt(20) == 0)
+        sb.setCharAt(random.nextInt(length), ":/ Xx".charAt(random.nextInt(5)));
+      records[i] = sb.toString();
+    }
+    return records;
+  }
+
+  private static String checkDigit(final String body) {
+    if (12 == body.length()) {
+      int sum = 0;
+      for (int i = 0; i < 12; ++i)
+        sum += (0 == (i & 1) ? 1 : 3) * (body.charAt(i) - '0');
+      return String.valueOf((10 - sum % 10) % 10);
+    }
+
+    int sum = 0;
+    for (int i = 0; i < 9; ++i)
+      sum += (i + 1) * (body.charAt(i) - '0');
+    return (10 == sum % 11 ? "X" : String.valueOf(sum % 11));
+  }
+
+  private static byte[] join(final String[] records) {
+    StringBuilder sb = new StringBuilder();
+    for (String record : records)
+      sb.append(record);
+    return sb.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+}
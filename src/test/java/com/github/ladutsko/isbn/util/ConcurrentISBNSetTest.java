@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ConcurrentISBNSetTest {
+
+  private static final long BASE = 9780000000000L;
+
+  @Test
+  public void parallelAddCountEachIsbnOnce() throws Exception {
+    final ConcurrentISBNSet set = new ConcurrentISBNSet(0, 8);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+      for (int t = 0; t < 4; ++t) {
+        // Overlapping ranges, each ISBN is added by two threads
+        final long from = BASE + t * 50000L;
+        futures.add(executor.submit(() -> {
+          int added = 0;
+          for (long key = from; key < from + 100000L; ++key)
+            if (set.add(key))
+              ++added;
+          return added;
+        }));
+      }
+
+      int added = 0;
+      for (Future<Integer> future : futures)
+        added += future.get();
+
+      assertThat(added, is(250000));
+      assertThat(set.size(), is(250000));
+    } finally {
+      executor.shutdown();
+    }
+
+    ISBNSet copy = set.toSet();
+    assertThat(copy.size(), is(250000));
+    assertThat(copy.contains(BASE), is(true));
+    assertThat(copy.contains(BASE + 250000L), is(false));
+    assertThat(set.contains(BASE + 249999L), is(true));
+    assertThat(set.remove(BASE), is(true));
+    assertThat(set.contains(BASE), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroConcurrency() {
+    new ConcurrentISBNSet(0, 0);
+  }
+
+  @Test
+  public void singleStripe() {
+    ConcurrentISBNSet set = new ConcurrentISBNSet(0, 1);
+
+    assertThat(set.add(9780123456786L), is(true));
+    assertThat(set.contains(9780123456786L), is(true));
+  }
+}
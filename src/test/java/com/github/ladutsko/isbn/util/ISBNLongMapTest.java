@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNLongMapTest {
+
+  private static final long BASE = 9780000000000L;
+
+  @Test
+  public void putGetRemove() throws Exception {
+    ISBNLongMap map = new ISBNLongMap();
+    ISBN isbn = ISBN.parseIsbn("0123456789");
+
+    assertThat(map.put(isbn, 7L, -1L), is(-1L));
+    assertThat(map.put(isbn.toLong(), 8L, -1L), is(7L));
+    assertThat(map.get(isbn, -1L), is(8L));
+    assertThat(map.get(9781118007594L, -1L), is(-1L));
+    assertThat(map.containsKey(isbn.toLong()), is(true));
+    assertThat(map.remove(isbn.toLong(), -1L), is(8L));
+    assertThat(map.remove(isbn.toLong(), -1L), is(-1L));
+    assertThat(map.isEmpty(), is(true));
+  }
+
+  @Test
+  public void addToCount() {
+    ISBNLongMap map = new ISBNLongMap();
+
+    assertThat(map.addTo(9780123456786L, 1L), is(1L));
+    assertThat(map.addTo(9780123456786L, 2L), is(3L));
+    assertThat(map.size(), is(1));
+  }
+
+  @Test
+  public void acceptAnyKeyButZero() {
+    ISBNLongMap map = new ISBNLongMap();
+    for (long key = -1000; key <= 1000; ++key)
+      if (0 != key)
+        map.addTo(key << 8 | 0x13, key);
+
+    assertThat(map.size(), is(2000));
+    assertThat(map.get(-7L << 8 | 0x13, 0L), is(-7L));
+    assertThat(map.get(5000L << 8 | 0x13, 0L), is(0L));
+    assertThat(map.get(999L << 8 | 0x13, 0L), is(999L));
+  }
+
+  @Test
+  public void addAllMergeCounts() {
+    ISBNLongMap first = new ISBNLongMap();
+    first.addTo(9780123456786L, 1L);
+    ISBNLongMap second = new ISBNLongMap();
+    second.addTo(9780123456786L, 2L);
+    second.addTo(9781118007594L, 5L);
+
+    first.addAll(second);
+
+    assertThat(first.get(9780123456786L, 0L), is(3L));
+    assertThat(first.get(9781118007594L, 0L), is(5L));
+    assertThat(first.size(), is(2));
+  }
+
+  @Test
+  public void matchHashMap() {
+    Random random = new Random(23);
+    ISBNLongMap map = new ISBNLongMap(4);
+    Map<Long, Long> expected = new HashMap<Long, Long>();
+    for (int i = 0; i < 200000; ++i) {
+      long key = BASE + random.nextInt(50000);
+      long value = random.nextLong();
+      switch (random.nextInt(3)) {
+        case 0:
+          assertThat(map.remove(key, -1L), is(expected.containsKey(key) ? expected.remove(key) : -1L));
+          break;
+        case 1:
+          assertThat(map.addTo(key, value), is(expected.merge(key, value, Long::sum)));
+          break;
+        default:
+          Long previous = expected.put(key, value);
+          assertThat(map.put(key, value, -1L), is(null == previous ? -1L : previous));
+      }
+    }
+
+    assertThat(map.size(), is(expected.size()));
+    Map<Long, Long> actual = new HashMap<Long, Long>();
+    map.forEach(actual::put);
+    assertThat(actual, is(expected));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 George Ladutsko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.github.ladutsko.isbn.util;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.github.ladutsko.isbn.ISBN;
+
+/**
+ * @author <a href="mailto:ladutsko@gmail.com">George Ladutsko</a>
+ */
+public class ISBNSetTest {
+
+  private static final long BASE = 9780000000000L;
+
+  @Test
+  public void addContainsRemove() throws Exception {
+    ISBNSet set = new ISBNSet();
+    ISBN isbn = ISBN.parseIsbn("0123456789");
+
+    assertThat(set.add(isbn), is(true));
+    assertThat(set.add(isbn.toLong()), is(false));
+    assertThat(set.contains(ISBN.parseIsbn("978-0-12-345678-6")), is(true));
+    assertThat(set.contains(9781118007594L), is(false));
+    assertThat(set.contains(0L), is(false));
+    assertThat(set.size(), is(1));
+
+    assertThat(set.remove(isbn), is(true));
+    assertThat(set.remove(isbn), is(false));
+    assertThat(set.isEmpty(), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addZero() {
+    new ISBNSet().add(0L);
+  }
+
+  @Test
+  public void matchHashSet() {
+    Random random = new Random(19);
+    ISBNSet set = new ISBNSet(4);
+    Set<Long> expected = new HashSet<Long>();
+    for (int i = 0; i < 200000; ++i) {
+      // Narrow range for collisions and long probe sequences
+      long key = BASE + random.nextInt(50000);
+      if (random.nextInt(3) == 0)
+        assertThat(set.remove(key), is(expected.remove(key)));
+      else
+        assertThat(set.add(key), is(expected.add(key)));
+    }
+
+    assertThat(set.size(), is(expected.size()));
+    for (long key = BASE; key < BASE + 50000; ++key)
+      assertThat(set.contains(key), is(expected.contains(key)));
+  }
+
+  @Test
+  public void toArraySorted() {
+    ISBNSet set = new ISBNSet();
+    set.add(9791090636071L);
+    set.add(9780123456786L);
+    set.add(9781118007594L);
+
+    assertThat(set.toArray(), is(new long[] { 9780123456786L, 9781118007594L, 9791090636071L }));
+  }
+
+  @Test
+  public void addAllAndClear() {
+    ISBNSet first = new ISBNSet();
+    first.add(9780123456786L);
+    ISBNSet second = new ISBNSet();
+    second.add(9780123456786L);
+    second.add(9781118007594L);
+
+    assertThat(first.addAll(second), is(true));
+    assertThat(first.addAll(second), is(false));
+    assertThat(first.size(), is(2));
+
+    first.clear();
+    assertThat(first.isEmpty(), is(true));
+    assertThat(first.contains(9780123456786L), is(false));
+  }
+}